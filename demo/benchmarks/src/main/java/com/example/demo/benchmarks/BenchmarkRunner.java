@@ -0,0 +1,36 @@
+package com.example.demo.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of benchmarks.jar. Accepts the usual JMH command line (benchmark regex, -f, -wi, -i, ...)
+ * and always adds the GC profiler, so every result carries allocation rate per operation
+ * (gc.alloc.rate.norm). Results are also written to jmh-result.json for comparing runs.
+ *
+ *   java -jar target/benchmarks.jar                 # everything
+ *   java -jar target/benchmarks.jar PasswordPolicy  # one class
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(commandLine);
+        builder.addProfiler(GCProfiler.class);
+        if (commandLine.getResult().hasValue() == false) {
+            builder.result("jmh-result.json");
+        }
+        if (commandLine.getResultFormat().hasValue() == false) {
+            builder.resultFormat(ResultFormatType.JSON);
+        }
+
+        Options options = builder.build();
+        new Runner(options).run();
+    }
+}
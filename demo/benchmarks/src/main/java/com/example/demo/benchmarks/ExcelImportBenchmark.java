@@ -0,0 +1,98 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.service.AdminExcelReader;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The admin Excel import's read side: per-cell coercion (getCellValue) and streaming a whole
+ * sheet through AdminExcelReader, the same SAX path the upload endpoints use.
+ */
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExcelImportBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Cells {
+        public String sharedString = "  Inspector  ";
+        public String number = "1234567.0";
+        public String bool = "1";
+    }
+
+    @State(Scope.Benchmark)
+    public static class Sheet1 {
+
+        @Param({"10000"})
+        public int rows;
+
+        public AdminExcelReader reader = new AdminExcelReader();
+        public File file;
+
+        @Setup(Level.Trial)
+        public void write() throws IOException {
+            file = Files.createTempFile("benchmark-admins-", ".xlsx").toFile();
+            try (SXSSFWorkbook workbook = new SXSSFWorkbook(100); OutputStream out = new FileOutputStream(file)) {
+                Sheet sheet = workbook.createSheet("Admins");
+                Row header = sheet.createRow(0);
+                String[] titles = {"Admin ID", "Name", "Rank", "Area of Working"};
+                for (int i = 0; i < titles.length; i++) {
+                    header.createCell(i).setCellValue(titles[i]);
+                }
+                for (int r = 1; r <= rows; r++) {
+                    Row row = sheet.createRow(r);
+                    row.createCell(0).setCellValue(100000 + r);
+                    row.createCell(1).setCellValue("Name " + r);
+                    row.createCell(2).setCellValue("Inspector");
+                    row.createCell(3).setCellValue("North");
+                }
+                workbook.write(out);
+                workbook.dispose();
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void delete() {
+            file.delete();
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public void getCellValue(Cells cells, Blackhole blackhole) {
+        blackhole.consume(AdminExcelReader.getCellValue("s", cells.sharedString, false));
+        blackhole.consume(AdminExcelReader.getCellValue("n", cells.number, false));
+        blackhole.consume(AdminExcelReader.getCellValue("b", cells.bool, false));
+        blackhole.consume(AdminExcelReader.getCellValue("n", cells.number, true));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void parseSheet(Sheet1 sheet, Blackhole blackhole) throws IOException {
+        sheet.reader.read(sheet.file, 4, (rowIndex, cells, error) -> blackhole.consume(cells));
+    }
+}
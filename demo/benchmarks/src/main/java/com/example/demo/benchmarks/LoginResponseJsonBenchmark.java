@@ -0,0 +1,38 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.controller.LoginResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serializing the login response, written once per successful login.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LoginResponseJsonBenchmark {
+
+    private final JsonMapper mapper = JsonMapper.builder().build();
+
+    private final LoginResponse response = new LoginResponse("success",
+            "QURNSU58MTc2MDAwMDAwMHxhYmNkZWZnaGl8YWRtaW4tNDI.c2lnbmF0dXJlLXNpZ25hdHVyZS1zaWduYXR1cmU",
+            "ADMIN", "admin-42", false, "Login successful");
+
+    @Benchmark
+    public byte[] serialize() {
+        return mapper.writeValueAsBytes(response);
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.demo.benchmarks;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-call cost of the meters in PortalMetrics, configured as in application.properties:
+ * a login timer with histogram buckets (1 ms to 10 s) and an import row counter. Compare with
+ * the operations they measure (BCrypt verify is milliseconds, see PasswordHashingBenchmark).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(4)
+@State(Scope.Benchmark)
+public class MetricsOverheadBenchmark {
+
+    private PrometheusMeterRegistry registry;
+    private Timer loginTimer;
+    private Counter rowCounter;
+
+    @Setup
+    public void setUp() {
+        registry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+        loginTimer = Timer.builder("portal.login")
+                .tag("outcome", "success")
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(registry);
+        rowCounter = Counter.builder("portal.import.rows")
+                .tag("type", "admin")
+                .tag("status", "success")
+                .register(registry);
+    }
+
+    @Benchmark
+    public void loginTimerSample() {
+        Timer.Sample sample = Timer.start(registry);
+        sample.stop(loginTimer);
+    }
+
+    @Benchmark
+    public void importRowCounter() {
+        rowCounter.increment();
+    }
+
+    @Benchmark
+    public String scrape() {
+        return registry.scrape();
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.service.PasswordPolicy;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PasswordPolicy.isValid, run on every password change and bulk reset.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PasswordPolicyBenchmark {
+
+    @Param({"Str0ng@Password", "weakpassword", "Sh0rt@"})
+    public String password;
+
+    @Benchmark
+    public boolean isValidPassword() {
+        return PasswordPolicy.isValid(password);
+    }
+}
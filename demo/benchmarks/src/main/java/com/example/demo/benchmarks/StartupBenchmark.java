@@ -0,0 +1,148 @@
+package com.example.demo.benchmarks;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time from launching the backend JVM to its first 200 from /api/health, which is what the desktop
+ * shell waits for. Not a JMH benchmark: each sample is a fresh process, started the way
+ * electron/main.js starts it, against an in-memory database so disk state does not skew runs.
+ *
+ *   cd demo
+ *   mvn -pl demo -Pfast-start package -DskipTests && mvn -pl benchmarks package -DskipTests
+ *   java -cp benchmarks/target/benchmarks.jar com.example.demo.benchmarks.StartupBenchmark [runs] [demo/target]
+ *
+ * Modes whose files are missing (no fast-start build, no archive for this JDK) are skipped.
+ */
+public class StartupBenchmark {
+
+    private static final Duration TIMEOUT = Duration.ofMinutes(3);
+    private static final long POLL_MILLIS = 50;
+
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+    private final String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+
+    public static void main(String[] args) throws Exception {
+        int runs = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+        Path target = Paths.get(args.length > 1 ? args[1] : "demo/target").toAbsolutePath().normalize();
+        new StartupBenchmark().run(runs, target);
+    }
+
+    private void run(int runs, Path target) throws Exception {
+        Path plainJar = target.resolve("service.jar");
+        Path fastStart = target.resolve("fast-start");
+        Path fastStartJar = fastStart.resolve("service.jar");
+        String archive = archiveOption(fastStart);
+
+        List<Mode> modes = new ArrayList<>();
+        modes.add(new Mode("plain", plainJar, List.of(), "production"));
+        modes.add(new Mode("aot", fastStartJar, List.of("-Dspring.aot.enabled=true"), "production"));
+        if (archive != null) {
+            modes.add(new Mode("aot+cds", fastStartJar, List.of("-Dspring.aot.enabled=true", archive), "production"));
+            modes.add(new Mode("fast-start", fastStartJar, List.of("-Dspring.aot.enabled=true", archive),
+                    "production,fast-start"));
+        }
+
+        Path workDir = Files.createTempDirectory("startup-benchmark");
+        System.out.printf("%d run(s) per mode, %s%n%n", runs, Runtime.version());
+        System.out.printf("%-12s %10s %10s %10s%n", "mode", "min ms", "median ms", "max ms");
+        for (Mode mode : modes) {
+            if (!Files.exists(mode.jar)) {
+                System.out.printf("%-12s skipped, %s not found%n", mode.name, mode.jar);
+                continue;
+            }
+            long[] samples = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                samples[i] = timeToHealthy(mode, workDir);
+            }
+            Arrays.sort(samples);
+            System.out.printf("%-12s %10d %10d %10d%n", mode.name, samples[0], samples[runs / 2], samples[runs - 1]);
+        }
+    }
+
+    private long timeToHealthy(Mode mode, Path workDir) throws Exception {
+        int port = freePort();
+        List<String> command = new ArrayList<>();
+        command.add(java);
+        command.addAll(mode.jvmArgs);
+        command.add("-jar");
+        command.add(mode.jar.toString());
+        command.add("--spring.profiles.active=" + mode.profiles);
+        command.add("--server.port=" + port);
+        command.add("--spring.datasource.url=jdbc:h2:mem:startup");
+
+        HttpRequest health = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/health"))
+                .timeout(Duration.ofSeconds(1))
+                .build();
+
+        long start = System.nanoTime();
+        Process process = new ProcessBuilder(command)
+                .directory(workDir.toFile())
+                .redirectErrorStream(true)
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        try {
+            while (System.nanoTime() - start < TIMEOUT.toNanos()) {
+                if (!process.isAlive()) {
+                    throw new IllegalStateException(mode.name + ": backend exited with " + process.exitValue());
+                }
+                try {
+                    if (client.send(health, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    }
+                } catch (IOException e) {
+                    // Not listening yet
+                }
+                Thread.sleep(POLL_MILLIS);
+            }
+            throw new IllegalStateException(mode.name + ": no healthy response within " + TIMEOUT);
+        } finally {
+            process.destroy();
+            if (!process.waitFor(30, TimeUnit.SECONDS)) {
+                process.destroyForcibly().waitFor();
+            }
+        }
+    }
+
+    /** Same choice as electron/main.js: the JDK 25+ AOT cache if the build made one, else the CDS archive. */
+    private static String archiveOption(Path fastStart) {
+        Path aotCache = fastStart.resolve("service.aot");
+        if (Files.exists(aotCache)) {
+            return "-XX:AOTCache=" + aotCache;
+        }
+        Path sharedArchive = fastStart.resolve("service.jsa");
+        return Files.exists(sharedArchive) ? "-XX:SharedArchiveFile=" + sharedArchive : null;
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static final class Mode {
+        final String name;
+        final Path jar;
+        final List<String> jvmArgs;
+        final String profiles;
+
+        Mode(String name, Path jar, List<String> jvmArgs, String profiles) {
+            this.name = name;
+            this.jar = jar;
+            this.jvmArgs = jvmArgs;
+            this.profiles = profiles;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.demo.benchmarks;
+
+import com.example.demo.service.AdminUserIndex;
+import com.example.demo.service.UserSearchHit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Typeahead searches against one admin with a million users (AdminUserIndex). The prefixes
+ * cover a narrow username match, a wide one (stops after the limit), a rank/area word match
+ * that needs the sequential pass, and a miss. Setup prints the heap the index takes.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = "-Xmx1g")
+@State(Scope.Benchmark)
+public class UserSearchBenchmark {
+
+    private static final String[] RANKS = {"Constable", "Head Constable", "Sub Inspector", "Inspector", "DSP"};
+    private static final String[] AREAS = {"North Zone", "South Zone", "East Zone", "West Zone", "Cyber Cell", "Traffic"};
+
+    @Param({"1000000"})
+    public int users;
+
+    @Param({"user-12345", "user-1", "traffic", "nobody"})
+    public String prefix;
+
+    private AdminUserIndex index;
+
+    @Setup(Level.Trial)
+    public void load() {
+        long before = usedHeap();
+        index = new AdminUserIndex(users);
+        // Loaded in shuffled order, as rows come back from the database
+        for (int i = 0; i < users; i++) {
+            int n = (int) ((i * 2_654_435_761L) % users);
+            index.load(n + 1, "user-" + n, RANKS[n % RANKS.length], AREAS[n % AREAS.length]);
+        }
+        index.finishLoad();
+        // Plus a buffer's worth of users added at runtime
+        for (int i = 0; i < 1000; i++) {
+            index.put(users + i + 1L, "user-new-" + i, "Constable", "Traffic");
+        }
+        System.out.printf("%nIndex of %,d users: ~%,d MB of heap%n", index.size(), (usedHeap() - before) >> 20);
+    }
+
+    @Benchmark
+    public List<UserSearchHit> search() {
+        return index.search(prefix, 11);
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.demo.config;
+
+import com.example.demo.model.Admin;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Caffeine-backed JCache regions for the Hibernate second-level cache. The regions are created
+ * here (bounded size, TTL, statistics) and handed to Hibernate, which is set to fail on any
+ * region that is not configured.
+ */
+@Configuration
+public class CacheConfig {
+
+    // Hibernate's default query cache regions
+    private static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.cache.admin.max-size:10000}") long adminMaxSize,
+            @Value("${app.cache.admin.ttl:10m}") Duration adminTtl,
+            @Value("${app.cache.query.max-size:1000}") long queryMaxSize,
+            @Value("${app.cache.query.ttl:5m}") Duration queryTtl) {
+        // One manager per application context, so contexts sharing a JVM (tests) never share regions
+        URI uri = URI.create("hibernate-second-level-cache-" + UUID.randomUUID());
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(uri, getClass().getClassLoader());
+
+        cacheManager.createCache(Admin.class.getName(), region(adminMaxSize, adminTtl));
+        cacheManager.createCache(Admin.class.getName() + "##NaturalId", region(adminMaxSize, adminTtl));
+        cacheManager.createCache(QUERY_RESULTS_REGION, region(queryMaxSize, queryTtl));
+        // Must outlive every cached query result, so it is neither size-bounded nor expired
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, region(-1, null));
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheManagerCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStatisticsEnabled(true);
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        return configuration;
+    }
+}
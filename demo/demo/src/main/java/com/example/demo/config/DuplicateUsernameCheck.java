@@ -0,0 +1,73 @@
+package com.example.demo.config;
+
+import org.flywaydb.core.api.FlywayException;
+import org.flywaydb.core.api.MigrationInfo;
+import org.flywaydb.core.api.MigrationVersion;
+import org.flywaydb.core.api.callback.Callback;
+import org.flywaydb.core.api.callback.Context;
+import org.flywaydb.core.api.callback.Event;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Databases created before Flyway took over the schema never enforced unique usernames per admin,
+ * so they may hold duplicates that would make V2's ux_users_admin_username fail halfway through
+ * startup. Runs just before V2 and stops the migration with the offending rows named instead, so
+ * they can be renamed or deleted before the next start. Which row to keep is left to a person:
+ * each duplicate is a separate login with its own password.
+ */
+@Component
+public class DuplicateUsernameCheck implements Callback {
+
+    private static final MigrationVersion UNIQUE_USERNAME_INDEX = MigrationVersion.fromVersion("2");
+
+    private static final int LISTED = 20;
+
+    private static final String DUPLICATES_SQL =
+            "SELECT a.admin_id, u.username, COUNT(*) FROM users u JOIN admins a ON a.id = u.admin_id "
+                    + "GROUP BY a.admin_id, u.username HAVING COUNT(*) > 1 ORDER BY a.admin_id, u.username";
+
+    @Override
+    public boolean supports(Event event, Context context) {
+        if (event != Event.BEFORE_EACH_MIGRATE) {
+            return false;
+        }
+        MigrationInfo migration = context.getMigrationInfo();
+        return migration != null && UNIQUE_USERNAME_INDEX.equals(migration.getVersion());
+    }
+
+    @Override
+    public boolean canHandleInTransaction(Event event, Context context) {
+        return true;
+    }
+
+    @Override
+    public void handle(Event event, Context context) {
+        List<String> duplicates = new ArrayList<>();
+        try (PreparedStatement statement = context.getConnection().prepareStatement(DUPLICATES_SQL);
+             ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                duplicates.add("admin " + rs.getString(1) + ": '" + rs.getString(2) + "' x" + rs.getLong(3));
+            }
+        } catch (SQLException e) {
+            throw new FlywayException("Could not check for duplicate usernames before V2", e);
+        }
+
+        if (!duplicates.isEmpty()) {
+            String listed = String.join(", ", duplicates.subList(0, Math.min(LISTED, duplicates.size())));
+            throw new FlywayException("Usernames repeated under the same admin (" + duplicates.size() + "): "
+                    + listed + (duplicates.size() > LISTED ? ", ..." : "") + ". V2 adds a unique index on "
+                    + "users (admin_id, username); rename or delete the extra rows, then start the application again.");
+        }
+    }
+
+    @Override
+    public String getCallbackName() {
+        return "duplicate-username-check";
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.demo.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    // BCrypt is CPU bound, so one platform thread per core (also with virtual threads enabled);
+    // a full queue makes the submitter hash inline
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashingExecutor(
+            @Value("${app.hashing.pool-size:0}") int poolSize,
+            @Value("${app.hashing.queue-capacity:1000}") int queueCapacity) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("bcrypt-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // Background Excel imports; when all workers and queue slots are busy, new uploads are rejected.
+    // Jobs mostly wait on file and JDBC I/O, so they run on virtual threads when those are enabled;
+    // the pool size still bounds how many run at once.
+    @Bean
+    public ThreadPoolTaskExecutor importJobExecutor(
+            @Value("${app.import.jobs.pool-size:2}") int poolSize,
+            @Value("${app.import.jobs.queue-capacity:4}") int queueCapacity,
+            Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("admin-import-");
+        executor.setVirtualThreads(Threading.VIRTUAL.isActive(environment));
+        executor.initialize();
+        return executor;
+    }
+
+    // Login BCrypt checks (CPU bound, platform threads); a full queue rejects immediately so the
+    // caller can answer 503
+    @Bean
+    public ThreadPoolTaskExecutor loginVerificationExecutor(
+            @Value("${app.auth.login.max-concurrency:0}") int maxConcurrency,
+            @Value("${app.auth.login.queue-capacity:64}") int queueCapacity) {
+        int threads = maxConcurrency > 0 ? maxConcurrency : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("login-verify-");
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.demo.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Databases created before the switch from IDENTITY to pooled sequences already hold rows,
+ * while the new sequence starts at 1. Move each sequence past the highest existing id so
+ * new inserts never collide with old rows.
+ */
+@Component
+public class IdSequenceInitializer {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Injected only so the schema has been migrated before the sequences are checked
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @PostConstruct
+    public void alignSequences() {
+        align("admins", "admins_seq", 50);
+        align("users", "users_seq", 50);
+    }
+
+    private void align(String table, String sequence, int allocationSize) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        Long next = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR " + sequence, Long.class);
+
+        if (next != null && maxId != null && next <= maxId) {
+            jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + (maxId + allocationSize));
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.demo.config;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * With spring.main.lazy-initialization (the fast-start profile) /api/health answers before most
+ * beans exist. Once the application is ready, this creates the remaining ones on a low-priority
+ * background thread, so the first login does not pay for them. Beans a request needs earlier are
+ * simply created by that request.
+ *
+ * Checked at runtime rather than with a condition, since AOT processing would freeze a condition
+ * to its build-time value.
+ */
+@Component
+public class LazyBeanWarmup {
+
+    @Autowired
+    private ConfigurableListableBeanFactory beanFactory;
+
+    @Value("${spring.main.lazy-initialization:false}")
+    private boolean lazyInitialization;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!lazyInitialization) {
+            return;
+        }
+        Thread thread = new Thread(this::createRemainingSingletons, "lazy-bean-warmup");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    private void createRemainingSingletons() {
+        for (String name : beanFactory.getBeanDefinitionNames()) {
+            BeanDefinition definition = beanFactory.getBeanDefinition(name);
+            if (!definition.isSingleton() || definition.isAbstract() || !definition.isLazyInit()
+                    || beanFactory.containsSingleton(name)) {
+                continue;
+            }
+            try {
+                beanFactory.getBean(name);
+            } catch (BeansException e) {
+                // Left to fail (and be reported) where it is actually used
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+
+import javax.sql.DataSource;
+
+/**
+ * Read/write split, active when app.datasource.replica.url is set. Otherwise Spring Boot's single
+ * datasource is used as before.
+ *
+ * The application datasource hands out lazy connections: a transaction marked
+ * {@code @Transactional(readOnly = true)} (this includes Spring Data's own finder methods) gets
+ * its physical connection from the replica (or from the primary, see
+ * {@link ReadReplicaRoutingDataSource}); everything else, including Flyway and non-transactional
+ * access, gets the primary. Transactions that read the replica do not put what they load into
+ * the second-level cache ({@link ReplicaCacheModeJpaDialect}).
+ */
+@Configuration
+@ConditionalOnExpression("!'${app.datasource.replica.url:}'.isEmpty()")
+public class ReadReplicaConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(@Value("${app.datasource.replica.url}") String url,
+                                              @Value("${app.datasource.replica.username:}") String username,
+                                              @Value("${app.datasource.replica.password:}") String password) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 @Qualifier("replicaDataSource") DataSource replica,
+                                 @Value("${app.datasource.replica.read-your-writes:true}") boolean readYourWrites) {
+        // Lazy: the physical connection is fetched at the first statement, after the transaction
+        // manager has published the read-only flag the routing depends on
+        return new LazyConnectionDataSourceProxy(new ReadReplicaRoutingDataSource(primary, replica, readYourWrites));
+    }
+
+    // The transaction manager takes its dialect from the entity manager factory. Static, as a
+    // post-processor has to exist before the other beans of this class are created.
+    @Bean
+    public static BeanPostProcessor replicaCacheModeJpaDialect(
+            @Value("${app.datasource.replica.read-your-writes:true}") boolean readYourWrites) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LocalContainerEntityManagerFactoryBean entityManagerFactory) {
+                    entityManagerFactory.setJpaDialect(new ReplicaCacheModeJpaDialect(readYourWrites));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.demo.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Picks the physical database for each connection (see {@link ReadReplicaConfig}). Connections
+ * for a read-only transaction come from the replica; everything else comes from the primary and
+ * marks the current HTTP request as having written. With read-your-writes enabled, read-only
+ * transactions later in such a request go to the primary too, so a request never reads data
+ * older than its own writes. Outside a request (startup, scheduled and background jobs) read-only
+ * transactions always go to the replica.
+ *
+ * The decision relies on the transaction's read-only flag already being set when the connection
+ * is fetched, which is why this sits behind a {@code LazyConnectionDataSourceProxy}.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target { PRIMARY, REPLICA }
+
+    private static final String WROTE_ATTRIBUTE = ReadReplicaRoutingDataSource.class.getName() + ".WROTE";
+
+    private final boolean readYourWrites;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, DataSource replica, boolean readYourWrites) {
+        this.readYourWrites = readYourWrites;
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && readsReplica(readYourWrites)) {
+            return Target.REPLICA;
+        }
+        markCurrentRequestWritten();
+        return Target.PRIMARY;
+    }
+
+    /** Whether a read-only transaction started now on this thread reads the replica. */
+    static boolean readsReplica(boolean readYourWrites) {
+        return !(readYourWrites && currentRequestHasWritten());
+    }
+
+    private static boolean currentRequestHasWritten() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes != null && attributes.getAttribute(WROTE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null;
+    }
+
+    private static void markCurrentRequestWritten() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(WROTE_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+}
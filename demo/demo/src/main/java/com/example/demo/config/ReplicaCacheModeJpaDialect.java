@@ -0,0 +1,60 @@
+package com.example.demo.config;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.sql.SQLException;
+
+/**
+ * Keeps replica reads out of the second-level cache (see {@link ReadReplicaConfig}). A read-only
+ * transaction that will read the replica runs with {@link CacheMode#GET}: it is still served from
+ * the Admin entity cache, but the admins it loads are not put into it. A lagging replica could
+ * otherwise cache an admin as it was before a write on the primary (a stale password hash or
+ * active flag, say) for the whole cache TTL, since the invalidation for that write has already
+ * happened. Read-only transactions that go to the primary cache as usual.
+ *
+ * Hibernate ignores the cache mode in two places. A cacheable query stores the result of a miss
+ * even under GET, so AdminRepositoryImpl does not use the query cache in these transactions. And
+ * every admin load caches its admin id to primary key resolution; those never change for a row,
+ * so a replica can only get one wrong if an admin is deleted and recreated under the same admin id
+ * within the replica lag. Lookups of that admin id then come back empty until the entry expires
+ * (app.cache.admin.ttl).
+ */
+public class ReplicaCacheModeJpaDialect extends HibernateJpaDialect {
+
+    private final boolean readYourWrites;
+
+    public ReplicaCacheModeJpaDialect(boolean readYourWrites) {
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Override
+    public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+            throws PersistenceException, SQLException {
+        Object transactionData = super.beginTransaction(entityManager, definition);
+        // Same decision the routing datasource makes when the transaction's connection is fetched
+        if (!definition.isReadOnly() || !ReadReplicaRoutingDataSource.readsReplica(readYourWrites)) {
+            return transactionData;
+        }
+        Session session = entityManager.unwrap(Session.class);
+        CacheMode previousCacheMode = session.getCacheMode();
+        session.setCacheMode(CacheMode.GET);
+        return new ReplicaReadData(transactionData, session, previousCacheMode);
+    }
+
+    @Override
+    public void cleanupTransaction(Object transactionData) {
+        if (transactionData instanceof ReplicaReadData replicaRead) {
+            replicaRead.session().setCacheMode(replicaRead.previousCacheMode());
+            transactionData = replicaRead.transactionData();
+        }
+        super.cleanupTransaction(transactionData);
+    }
+
+    private record ReplicaReadData(Object transactionData, Session session, CacheMode previousCacheMode) {
+    }
+}
@@ -1,11 +1,19 @@
 package com.example.demo.config;
 
+import com.example.demo.security.TokenAuthenticationFilter;
+import com.example.demo.security.TokenService;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 public class SecurityConfig {
@@ -16,18 +24,33 @@ public class SecurityConfig {
     }
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http, TokenService tokenService) throws Exception {
         http
             .cors(cors -> {})   // 👈 ENABLE CORS
             .csrf(csrf -> csrf.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
-                .requestMatchers("/api/auth/**").permitAll()
-                .anyRequest().permitAll()
+                .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                // Rendering the error page of a refused request; otherwise every 403 comes back as 401
+                .dispatcherTypeMatchers(DispatcherType.ERROR).permitAll()
+                .requestMatchers("/api/auth/login", "/api/auth/health").permitAll()
+                .requestMatchers("/api/health").permitAll()
+                // Hashing pool, rate limiter and cache internals
+                .requestMatchers("/api/health/**").hasRole("SUPER_ADMIN")
+                // Probes and the Prometheus scraper; keep the port off the public network in production
+                .requestMatchers("/actuator/health", "/actuator/health/**", "/actuator/prometheus").permitAll()
+                .requestMatchers("/actuator/**").hasRole("SUPER_ADMIN")
+                // Imports create admin accounts with the default password
+                .requestMatchers("/api/auth/upload-admins", "/api/auth/import-jobs/**").hasRole("SUPER_ADMIN")
+                .requestMatchers("/api/auth/reset-admin-passwords", "/api/auth/remove-admins").hasRole("SUPER_ADMIN")
+                .anyRequest().authenticated()
             )
+            // Signed tokens are verified in memory, without a database lookup per request
+            .addFilterBefore(new TokenAuthenticationFilter(tokenService), UsernamePasswordAuthenticationFilter.class)
+            .exceptionHandling(ex -> ex.authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
             .formLogin(form -> form.disable())
             .httpBasic(basic -> basic.disable());
 
         return http.build();
     }
 }
-
@@ -1,13 +1,31 @@
 package com.example.demo.controller;
 
 import com.example.demo.model.Admin;
+import com.example.demo.security.AuthRateLimiter;
+import com.example.demo.security.CurrentAdmin;
+import com.example.demo.security.TokenService;
+import com.example.demo.service.AdminImportJob;
+import com.example.demo.service.AdminImportJobService;
+import com.example.demo.service.AdminImportOptions;
 import com.example.demo.service.AdminService;
+import com.example.demo.service.LoginOverloadedException;
+import com.example.demo.service.PortalMetrics;
+import com.example.demo.service.PortalMetrics.LoginOutcome;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -16,43 +34,78 @@ public class AuthController {
     
     @Autowired
     private AdminService adminService;
+
+    @Autowired
+    private AdminImportJobService adminImportJobService;
+
+    @Autowired
+    private AuthRateLimiter authRateLimiter;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private PortalMetrics portalMetrics;
+
+    @Value("${app.auth.login.retry-after-seconds:1}")
+    private int loginRetryAfterSeconds;
     
     @PostMapping("/login")
-    public ResponseEntity<?> login(@RequestBody LoginRequest request) {
+    public CompletableFuture<ResponseEntity<?>> login(@RequestBody LoginRequest request, HttpServletRequest httpRequest) {
+        Timer.Sample sample = portalMetrics.startLogin();
+
         // Validate input
         ValidationResult validation = validateLoginRequest(request);
         if (!validation.isValid()) {
-            return ResponseEntity.badRequest().body(
+            portalMetrics.stopLogin(sample, LoginOutcome.INVALID_REQUEST);
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(
                 new LoginResponse("error", null, null, null, false, validation.getErrorMessage())
-            );
+            ));
+        }
+
+        long retryAfter = authRateLimiter.tryAcquire(AuthRateLimiter.LOGIN, request.getUsername(), authRateLimiter.clientIp(httpRequest));
+        if (retryAfter > 0) {
+            portalMetrics.stopLogin(sample, LoginOutcome.RATE_LIMITED);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfter))
+                .body(new LoginResponse("error", null, null, null, false, "Too many login attempts, please try again later")));
         }
 
         // DEVELOPMENT MODE: Simple hardcoded login for testing
         if ("prerana".equals(request.getUsername()) && "Prerana@542004".equals(request.getPassword())) {
-            return ResponseEntity.ok(
+            portalMetrics.stopLogin(sample, LoginOutcome.SUCCESS);
+            return CompletableFuture.completedFuture(ResponseEntity.ok(
                 new LoginResponse(
                     "success", 
-                    "token_admin_" + System.currentTimeMillis(), 
+                    tokenService.issue("1", "SUPER_ADMIN"), 
                     "SUPER_ADMIN", 
                     "1",
                     false,
                     "Login successful"
                 )
-            );
+            ));
         }
 
         // Check if admin exists in database (for production) using name
         Optional<Admin> adminOpt = adminService.findByName(request.getUsername());
         if (adminOpt.isEmpty()) {
-            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
+            portalMetrics.stopLogin(sample, LoginOutcome.INVALID_CREDENTIALS);
+            return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
                 new LoginResponse("error", null, null, null, false, "Invalid username or password")
-            );
+            ));
         }
 
         Admin admin = adminOpt.get();
 
-        // Verify password
-        if (!adminService.verifyPassword(request.getPassword(), admin.getPassword())) {
+        // Verify password on the bounded verification pool; the request thread is released meanwhile
+        return adminService.verifyLoginPassword(request.getPassword(), admin.getPassword())
+            .<ResponseEntity<?>>thenApply(matches -> loginResult(admin, matches, sample))
+            .exceptionally(error -> loginFailure(error, sample));
+    }
+
+    private ResponseEntity<?> loginResult(Admin admin, boolean passwordMatches, Timer.Sample sample) {
+        if (!passwordMatches) {
+            portalMetrics.stopLogin(sample, LoginOutcome.INVALID_CREDENTIALS);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
                 new LoginResponse("error", null, null, null, false, "Invalid username or password")
             );
@@ -60,6 +113,7 @@ public class AuthController {
 
         // Check if admin is active
         if (!admin.getIsActive()) {
+            portalMetrics.stopLogin(sample, LoginOutcome.INACTIVE);
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(
                 new LoginResponse("error", null, null, null, false, "Admin account is inactive")
             );
@@ -67,11 +121,12 @@ public class AuthController {
 
         // Check if first login (needs password change)
         boolean needsPasswordChange = admin.getFirstLogin();
+        portalMetrics.stopLogin(sample, LoginOutcome.SUCCESS);
 
         return ResponseEntity.ok(
             new LoginResponse(
                 "success", 
-                "token_" + admin.getAdminId() + "_" + System.currentTimeMillis(), 
+                tokenService.issue(admin.getAdminId(), "ADMIN"), 
                 "ADMIN", 
                 admin.getAdminId().toString(),
                 needsPasswordChange,
@@ -79,17 +134,50 @@ public class AuthController {
             )
         );
     }
+
+    private ResponseEntity<?> loginFailure(Throwable error, Timer.Sample sample) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+
+        if (cause instanceof LoginOverloadedException) {
+            portalMetrics.stopLogin(sample, LoginOutcome.OVERLOADED);
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(loginRetryAfterSeconds))
+                .body(new LoginResponse("error", null, null, null, false, "Server is busy, please try again"));
+        }
+
+        portalMetrics.stopLogin(sample, LoginOutcome.ERROR);
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+            new LoginResponse("error", null, null, null, false, "Login failed: " + cause.getMessage())
+        );
+    }
     
+    // Super admin only (SecurityConfig), as are the import job endpoints below
     @PostMapping("/upload-admins")
-    public ResponseEntity<?> uploadAdmins(@RequestParam("file") MultipartFile file) {
+    public ResponseEntity<?> uploadAdmins(@RequestParam("file") MultipartFile file,
+                                          @RequestParam(value = "async", defaultValue = "false") boolean async,
+                                          @RequestParam(value = "mode", defaultValue = "create") String mode,
+                                          @RequestParam(value = "deactivateMissing", defaultValue = "false") boolean deactivateMissing) {
         if (file.isEmpty()) {
             return ResponseEntity.badRequest().body(
                 Collections.singletonMap("error", "No file provided")
             );
         }
 
+        // mode=upsert updates changed admins instead of skipping them (daily roster re-imports)
+        if (!"create".equals(mode) && !"upsert".equals(mode)) {
+            return ResponseEntity.badRequest().body(
+                Collections.singletonMap("error", "mode must be create or upsert")
+            );
+        }
+
+        AdminImportOptions options = new AdminImportOptions("upsert".equals(mode), deactivateMissing);
+
+        if (async) {
+            return submitImportJob(file, options);
+        }
+
         try {
-            List<Map<String, String>> results = adminService.importAdminsFromExcel(file);
+            List<Map<String, String>> results = adminService.importAdminsFromExcel(file, options);
             
             Map<String, Object> response = new HashMap<>();
             response.put("status", "success");
@@ -103,15 +191,68 @@ public class AuthController {
             );
         }
     }
+
+    @GetMapping("/import-jobs/{jobId}")
+    public ResponseEntity<?> getImportJob(@PathVariable String jobId) {
+        return adminImportJobService.getJob(jobId, currentAdminId())
+            .<ResponseEntity<?>>map(job -> ResponseEntity.ok(job.toStatusMap()))
+            .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(
+                Collections.singletonMap("error", "Import job not found")
+            ));
+    }
+
+    @GetMapping("/import-jobs/{jobId}/results")
+    public ResponseEntity<StreamingResponseBody> getImportJobResults(@PathVariable String jobId) {
+        Optional<AdminImportJob> jobOpt = adminImportJobService.getJob(jobId, currentAdminId());
+        if (jobOpt.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        StreamingResponseBody body = out -> adminImportJobService.streamResults(jobOpt.get(), out);
+        return ResponseEntity.ok()
+            .contentType(MediaType.parseMediaType("application/x-ndjson"))
+            .body(body);
+    }
+
+    private ResponseEntity<?> submitImportJob(MultipartFile file, AdminImportOptions options) {
+        try {
+            AdminImportJob job = adminImportJobService.submit(file, options, currentAdminId());
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("status", "accepted");
+            response.put("jobId", job.getId());
+            response.put("statusUrl", "/api/auth/import-jobs/" + job.getId());
+            response.put("resultsUrl", "/api/auth/import-jobs/" + job.getId() + "/results");
+
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        } catch (TaskRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "30")
+                .body(Collections.singletonMap("error", "Too many imports in progress, try again later"));
+        } catch (Exception e) {
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                Collections.singletonMap("error", "Error processing file: " + e.getMessage())
+            );
+        }
+    }
     
     @PostMapping("/change-password")
-    public ResponseEntity<?> changePassword(@RequestBody PasswordChangeRequest request) {
+    public ResponseEntity<?> changePassword(@RequestBody PasswordChangeRequest request, HttpServletRequest httpRequest) {
         if (request.getAdminId() == null || request.getAdminId().isEmpty()) {
             return ResponseEntity.badRequest().body(
                 Collections.singletonMap("error", "Admin ID is required")
             );
         }
 
+        if (!CurrentAdmin.canActFor(request.getAdminId())) {
+            return forbidden();
+        }
+
+        long retryAfter = authRateLimiter.tryAcquire(AuthRateLimiter.CHANGE_PASSWORD, request.getAdminId(), authRateLimiter.clientIp(httpRequest));
+        if (retryAfter > 0) {
+            return tooManyRequests(retryAfter);
+        }
+
         Map<String, Object> response = adminService.changePassword(
             request.getAdminId(),
             request.getOldPassword(),
@@ -126,13 +267,22 @@ public class AuthController {
     }
     
     @PostMapping("/force-change-password")
-    public ResponseEntity<?> forceChangePassword(@RequestBody ForcePasswordChangeRequest request) {
+    public ResponseEntity<?> forceChangePassword(@RequestBody ForcePasswordChangeRequest request, HttpServletRequest httpRequest) {
         if (request.getAdminId() == null || request.getAdminId().isEmpty()) {
             return ResponseEntity.badRequest().body(
                 Collections.singletonMap("error", "Admin ID is required")
             );
         }
 
+        if (!CurrentAdmin.canActFor(request.getAdminId())) {
+            return forbidden();
+        }
+
+        long retryAfter = authRateLimiter.tryAcquire(AuthRateLimiter.FORCE_CHANGE_PASSWORD, request.getAdminId(), authRateLimiter.clientIp(httpRequest));
+        if (retryAfter > 0) {
+            return tooManyRequests(retryAfter);
+        }
+
         Map<String, Object> response = adminService.forcePasswordChange(
             request.getAdminId(),
             request.getNewPassword()
@@ -145,12 +295,85 @@ public class AuthController {
         return ResponseEntity.ok(response);
     }
     
+    @PostMapping("/reset-admin-passwords")
+    public ResponseEntity<?> resetAdminPasswords(@RequestBody BulkPasswordResetRequest request) {
+        if (request.getAdminIds() == null || request.getAdminIds().isEmpty()) {
+            return ResponseEntity.badRequest().body(
+                Collections.singletonMap("error", "At least one admin ID is required")
+            );
+        }
+
+        Map<String, Object> response = adminService.resetAdminPasswords(
+            request.getAdminIds(),
+            request.getTemporaryPassword()
+        );
+
+        if ("error".equals(response.get("status"))) {
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        return ResponseEntity.ok(response);
+    }
+    
+    // Super admin only (SecurityConfig). mode=soft deactivates (users kept), mode=hard deletes the admins and their users
+    @PostMapping("/remove-admins")
+    public ResponseEntity<?> removeAdmins(@RequestBody AdminRemovalRequest request,
+                                          @RequestParam(value = "mode", defaultValue = "soft") String mode) {
+        if (request.getAdminIds() == null || request.getAdminIds().isEmpty()) {
+            return ResponseEntity.badRequest().body(
+                Collections.singletonMap("error", "At least one admin ID is required")
+            );
+        }
+
+        if (!"soft".equals(mode) && !"hard".equals(mode)) {
+            return ResponseEntity.badRequest().body(
+                Collections.singletonMap("error", "mode must be soft or hard")
+            );
+        }
+
+        try {
+            return ResponseEntity.ok(adminService.removeAdmins(request.getAdminIds(), "hard".equals(mode)));
+        } catch (Exception e) {
+            // The whole request was rolled back
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(
+                Collections.singletonMap("error", "Error removing admins: " + e.getMessage())
+            );
+        }
+    }
+    
     @GetMapping("/health")
     public String health() {
         return "Backend is running!";
     }
 
     
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout() {
+        CurrentAdmin.get().ifPresent(tokenService::revoke);
+        return ResponseEntity.ok(Collections.singletonMap("message", "Logged out"));
+    }
+    
+    private static String currentAdminId() {
+        return CurrentAdmin.get().map(TokenService.TokenClaims::adminId).orElse("");
+    }
+
+    private ResponseEntity<?> forbidden() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "error");
+        response.put("message", "Not allowed to act for this admin");
+        return ResponseEntity.status(HttpStatus.FORBIDDEN).body(response);
+    }
+
+    private ResponseEntity<?> tooManyRequests(long retryAfterSeconds) {
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "error");
+        response.put("message", "Too many attempts, please try again later");
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+            .body(response);
+    }
+
     // Validation method
     private ValidationResult validateLoginRequest(LoginRequest request) {
         if (request == null) {
@@ -213,79 +436,6 @@ class LoginRequest {
     }
 }
 
-class LoginResponse {
-    private String status;
-    private String token;
-    private String role;
-    private String adminId;
-    private Boolean needsPasswordChange;
-    private String message;
-    
-    public LoginResponse(String status, String token, String role, String adminId, Boolean needsPasswordChange, String message) {
-        this.status = status;
-        this.token = token;
-        this.role = role;
-        this.adminId = adminId;
-        this.needsPasswordChange = needsPasswordChange;
-        this.message = message;
-    }
-
-    public LoginResponse(String status, String token, String role, String message) {
-        this.status = status;
-        this.token = token;
-        this.role = role;
-        this.message = message;
-    }
-    
-    public String getStatus() {
-        return status;
-    }
-    
-    public void setStatus(String status) {
-        this.status = status;
-    }
-    
-    public String getToken() {
-        return token;
-    }
-    
-    public void setToken(String token) {
-        this.token = token;
-    }
-    
-    public String getRole() {
-        return role;
-    }
-    
-    public void setRole(String role) {
-        this.role = role;
-    }
-
-    public String getAdminId() {
-        return adminId;
-    }
-
-    public void setAdminId(String adminId) {
-        this.adminId = adminId;
-    }
-
-    public Boolean getNeedsPasswordChange() {
-        return needsPasswordChange;
-    }
-
-    public void setNeedsPasswordChange(Boolean needsPasswordChange) {
-        this.needsPasswordChange = needsPasswordChange;
-    }
-
-    public String getMessage() {
-        return message;
-    }
-
-    public void setMessage(String message) {
-        this.message = message;
-    }
-}
-
 class PasswordChangeRequest {
     private String adminId;
     private String oldPassword;
@@ -341,6 +491,43 @@ class ForcePasswordChangeRequest {
     }
 }
 
+class BulkPasswordResetRequest {
+    private List<String> adminIds;
+    private String temporaryPassword;
+
+    public BulkPasswordResetRequest() {}
+
+    public List<String> getAdminIds() {
+        return adminIds;
+    }
+
+    public void setAdminIds(List<String> adminIds) {
+        this.adminIds = adminIds;
+    }
+
+    public String getTemporaryPassword() {
+        return temporaryPassword;
+    }
+
+    public void setTemporaryPassword(String temporaryPassword) {
+        this.temporaryPassword = temporaryPassword;
+    }
+}
+
+class AdminRemovalRequest {
+    private List<String> adminIds;
+
+    public AdminRemovalRequest() {}
+
+    public List<String> getAdminIds() {
+        return adminIds;
+    }
+
+    public void setAdminIds(List<String> adminIds) {
+        this.adminIds = adminIds;
+    }
+}
+
 // Validation result helper class
 class ValidationResult {
     private boolean valid;
@@ -1,23 +1,96 @@
 package com.example.demo.controller;
 
+import com.example.demo.model.Admin;
+import com.example.demo.security.AuthRateLimiter;
+import com.example.demo.service.PasswordHashingService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 
 @RestController
 @RequestMapping("/api")
 public class HealthController {
 
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private AuthRateLimiter authRateLimiter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${app.health.database-timeout-seconds:2}")
+    private int databaseTimeoutSeconds;
+
     @GetMapping("/health")
     public ResponseEntity<Map<String, String>> health() {
+        boolean databaseUp = isDatabaseUp();
+
         Map<String, String> response = new HashMap<>();
-        response.put("status", "UP");
-        response.put("message", "Unified Service Portal is running");
+        response.put("status", databaseUp ? "UP" : "DOWN");
+        response.put("message", databaseUp ? "Unified Service Portal is running" : "Database is unavailable");
+        response.put("database", databaseUp ? "UP" : "DOWN");
         response.put("timestamp", String.valueOf(System.currentTimeMillis()));
+        return ResponseEntity.status(databaseUp ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(response);
+    }
+
+    @GetMapping("/health/hashing")
+    public ResponseEntity<Map<String, Object>> hashing() {
+        return ResponseEntity.ok(passwordHashingService.getStats());
+    }
+
+    @GetMapping("/health/rate-limits")
+    public ResponseEntity<Map<String, Object>> rateLimits() {
+        return ResponseEntity.ok(authRateLimiter.getStats());
+    }
+
+    @GetMapping("/health/cache")
+    public ResponseEntity<Map<String, Object>> cache() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("statisticsEnabled", statistics.isStatisticsEnabled());
+        response.put("admin", regionStats(statistics.getDomainDataRegionStatistics(Admin.class.getName())));
+        response.put("naturalIdHits", statistics.getNaturalIdCacheHitCount());
+        response.put("naturalIdMisses", statistics.getNaturalIdCacheMissCount());
+        response.put("queryCacheHits", statistics.getQueryCacheHitCount());
+        response.put("queryCacheMisses", statistics.getQueryCacheMissCount());
         return ResponseEntity.ok(response);
     }
+
+    // Borrows a pooled connection and asks the driver to validate it
+    private boolean isDatabaseUp() {
+        try (Connection connection = dataSource.getConnection()) {
+            return connection.isValid(databaseTimeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private Map<String, Object> regionStats(CacheRegionStatistics region) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", region.getHitCount());
+        stats.put("misses", region.getMissCount());
+        stats.put("puts", region.getPutCount());
+        return stats;
+    }
 }
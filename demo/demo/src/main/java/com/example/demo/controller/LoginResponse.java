@@ -0,0 +1,74 @@
+package com.example.demo.controller;
+
+public class LoginResponse {
+    private String status;
+    private String token;
+    private String role;
+    private String adminId;
+    private Boolean needsPasswordChange;
+    private String message;
+    
+    public LoginResponse(String status, String token, String role, String adminId, Boolean needsPasswordChange, String message) {
+        this.status = status;
+        this.token = token;
+        this.role = role;
+        this.adminId = adminId;
+        this.needsPasswordChange = needsPasswordChange;
+        this.message = message;
+    }
+
+    public LoginResponse(String status, String token, String role, String message) {
+        this.status = status;
+        this.token = token;
+        this.role = role;
+        this.message = message;
+    }
+    
+    public String getStatus() {
+        return status;
+    }
+    
+    public void setStatus(String status) {
+        this.status = status;
+    }
+    
+    public String getToken() {
+        return token;
+    }
+    
+    public void setToken(String token) {
+        this.token = token;
+    }
+    
+    public String getRole() {
+        return role;
+    }
+    
+    public void setRole(String role) {
+        this.role = role;
+    }
+
+    public String getAdminId() {
+        return adminId;
+    }
+
+    public void setAdminId(String adminId) {
+        this.adminId = adminId;
+    }
+
+    public Boolean getNeedsPasswordChange() {
+        return needsPasswordChange;
+    }
+
+    public void setNeedsPasswordChange(Boolean needsPasswordChange) {
+        this.needsPasswordChange = needsPasswordChange;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+}
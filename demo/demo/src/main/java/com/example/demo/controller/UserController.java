@@ -1,20 +1,50 @@
 package com.example.demo.controller;
 
+import com.example.demo.model.Admin;
+import com.example.demo.security.CurrentAdmin;
+import com.example.demo.service.UserAggregateService;
+import com.example.demo.service.UserCursor;
+import com.example.demo.service.UserExportService;
+import com.example.demo.service.UserListVersions;
+import com.example.demo.service.UserSearchIndex;
 import com.example.demo.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/auth")
 @CrossOrigin(origins = "http://localhost:5173")
 public class UserController {
 
+    private static final CacheControl LIST_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private UserListVersions userListVersions;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private UserAggregateService userAggregateService;
+
     // ✅ ADD USER
     @PostMapping("/add-user")
     public ResponseEntity<?> addUser(@RequestBody Map<String, String> request) {
@@ -30,6 +60,10 @@ public class UserController {
             return ResponseEntity.badRequest().body("Missing required fields");
         }
 
+        if (!CurrentAdmin.canActFor(adminId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not allowed to manage users of this admin");
+        }
+
         try {
             userService.addUserToAdmin(
                     adminId,
@@ -44,6 +78,22 @@ public class UserController {
         }
     }
 
+    // ✅ BULK ADD USERS (JSON array or NDJSON body, one admin per request)
+    @PostMapping(value = "/add-users", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<?> addUsers(@RequestParam String adminId, HttpServletRequest request) {
+
+        if (!CurrentAdmin.canActFor(adminId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not allowed to manage users of this admin");
+        }
+
+        try {
+            List<Map<String, Object>> items = userService.readBulkItems(request.getInputStream());
+            return ResponseEntity.ok(userService.addUsersToAdmin(adminId, items));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
     // ✅ DELETE USER
     @DeleteMapping("/delete-user")
     public ResponseEntity<?> deleteUser(@RequestBody Map<String, String> request) {
@@ -55,6 +105,10 @@ public class UserController {
             return ResponseEntity.badRequest().body("Missing required fields");
         }
 
+        if (!CurrentAdmin.canActFor(adminId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not allowed to manage users of this admin");
+        }
+
         try {
             userService.deleteUserFromAdmin(adminId, username);
             return ResponseEntity.ok("User deleted successfully");
@@ -76,6 +130,10 @@ public class UserController {
             return ResponseEntity.badRequest().body("Missing required fields");
         }
 
+        if (!CurrentAdmin.canActFor(adminId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not allowed to manage users of this admin");
+        }
+
         try {
             userService.updateUserRankAndArea(
                     adminId,
@@ -90,18 +148,121 @@ public class UserController {
     }
 
     // ✅ LIST USERS
+    // Offset mode (page/size) by default; passing "cursor" (empty for the first page) switches to
+    // keyset mode, which returns a nextCursor and only counts when includeTotal=true.
+    // Responses carry a weak ETag of the admin's user list version; a matching If-None-Match gets
+    // a 304 before any query runs. no-cache makes browsers revalidate instead of reusing blindly.
     @GetMapping("/admin-users")
     public ResponseEntity<?> getUsersByAdmin(
             @RequestParam String adminId,
             @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "10") int size) {
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "id") String sort,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            WebRequest webRequest) {
+
+        if (!CurrentAdmin.canActFor(adminId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not allowed to view users of this admin");
+        }
+
+        String etag = userListVersions.etag(adminId);
+        if (etag != null && webRequest.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(LIST_CACHE_CONTROL).build();
+        }
 
         try {
-            return ResponseEntity.ok(
+            if (cursor != null) {
+                UserCursor.Sort order = "username".equalsIgnoreCase(sort) ? UserCursor.Sort.USERNAME : UserCursor.Sort.ID;
+                return ResponseEntity.ok().eTag(etag).cacheControl(LIST_CACHE_CONTROL).body(
+                        userService.getUsersByAdminAfter(adminId, cursor, order, size, includeTotal)
+                );
+            }
+            return ResponseEntity.ok().eTag(etag).cacheControl(LIST_CACHE_CONTROL).body(
                     userService.getUsersByAdminPaginated(adminId, page, size)
             );
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
     }
+
+    // ✅ SEARCH USERS (typeahead)
+    // Prefix of the username, or of any word of rank / area of working; username matches come first.
+    @GetMapping("/admin-users/search")
+    public ResponseEntity<?> searchUsers(
+            @RequestParam String adminId,
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        if (!CurrentAdmin.canActFor(adminId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not allowed to view users of this admin");
+        }
+
+        if (!userSearchIndex.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body("Search is still loading, try again shortly");
+        }
+
+        try {
+            return ResponseEntity.ok(userService.searchUsers(adminId, q, limit));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // ✅ USER COUNTS BY RANK & AREA (dashboards)
+    @GetMapping("/admin-users/summary")
+    public ResponseEntity<?> getUserSummary(@RequestParam String adminId) {
+
+        if (!CurrentAdmin.canActFor(adminId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Not allowed to view users of this admin");
+        }
+
+        if (!userAggregateService.isReady()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "5")
+                    .body("User counts are still loading, try again shortly");
+        }
+
+        try {
+            return ResponseEntity.ok(userService.getUserAggregates(adminId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    // ✅ EXPORT USERS (streamed, format=csv|xlsx)
+    @GetMapping("/admin-users/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @RequestParam String adminId,
+            @RequestParam(defaultValue = "csv") String format) {
+
+        if (!CurrentAdmin.canActFor(adminId)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+
+        UserExportService.Format exportFormat;
+        try {
+            exportFormat = UserExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        Optional<Admin> admin = userExportService.findAdmin(adminId);
+        if (admin.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        MediaType contentType = exportFormat == UserExportService.Format.XLSX
+                ? MediaType.parseMediaType("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")
+                : MediaType.parseMediaType("text/csv;charset=UTF-8");
+        String filename = adminId.replaceAll("[^A-Za-z0-9_-]", "_") + "-users." + format.toLowerCase();
+
+        StreamingResponseBody body = out -> userExportService.export(admin.get(), exportFormat, out);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(body);
+    }
 }
@@ -3,20 +3,36 @@ package com.example.demo.model;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.HexFormat;
 
 @Entity
 @Table(name = "admins")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NaturalIdCache
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Admin {
     
+    // Pooled sequence so bulk imports can use JDBC batch inserts (IDENTITY disables batching)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "admins_seq")
+    @SequenceGenerator(name = "admins_seq", sequenceName = "admins_seq", allocationSize = 50)
     private Long id;
     
+    @NaturalId
     @Column(name = "admin_id", unique = true, nullable = false)
     private String adminId;
     
@@ -47,17 +63,38 @@ public class Admin {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    // Hash of the columns an Excel import sets, so upsert imports can spot changed rows in bulk
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
+    // Never read or cascade through this for bulk work: touching it loads every user of the admin.
+    // Removing admins goes through AdminService.removeAdmins (set-based deletes) instead of JPA remove.
     @OneToMany(mappedBy = "admin", cascade = CascadeType.ALL, orphanRemoval = true)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private java.util.List<User> users = new java.util.ArrayList<>();
 
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        contentHash = contentHash(name, rank, areaOfWorking);
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        contentHash = contentHash(name, rank, areaOfWorking);
+    }
+
+    public static String contentHash(String name, String rank, String areaOfWorking) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            // Unit separator between the fields, so ("ab", "c") and ("a", "bc") differ
+            String content = name + '\u001f' + rank + '\u001f' + areaOfWorking;
+            return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
     }
 }
@@ -0,0 +1,12 @@
+package com.example.demo.repository;
+
+/**
+ * What an upsert import needs to know about an existing admin to decide whether its row changed.
+ * Selected directly, so unchanged rows never load an Admin entity.
+ */
+public record AdminImportState(
+        String adminId,
+        String contentHash,
+        Boolean isActive
+) {
+}
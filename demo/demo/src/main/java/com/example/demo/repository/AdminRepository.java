@@ -2,11 +2,54 @@ package com.example.demo.repository;
 
 import com.example.demo.model.Admin;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import java.util.Optional;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 
 @Repository
-public interface AdminRepository extends JpaRepository<Admin, Long> {
-    Optional<Admin> findByAdminId(String adminId);
-    Optional<Admin> findByName(String name);
+public interface AdminRepository extends JpaRepository<Admin, Long>, AdminRepositoryCustom {
+
+    // Bulk existence check used by imports: one query per chunk instead of one per row
+    @Query("select a.adminId from Admin a where a.adminId in :adminIds")
+    List<String> findExistingAdminIds(@Param("adminIds") Collection<String> adminIds);
+
+    // Bulk change check used by upsert imports: stored content hash per admin id in the chunk
+    @Query("select new com.example.demo.repository.AdminImportState(a.adminId, a.contentHash, a.isActive) "
+            + "from Admin a where a.adminId in :adminIds")
+    List<AdminImportState> findImportStates(@Param("adminIds") Collection<String> adminIds);
+
+    List<Admin> findByAdminIdIn(Collection<String> adminIds);
+
+    @Query("select a.adminId from Admin a where a.isActive = true")
+    List<String> findActiveAdminIds();
+
+    @Transactional
+    @Modifying
+    @Query("update Admin a set a.isActive = false, a.updatedAt = :now "
+            + "where a.adminId in :adminIds and a.isActive = true")
+    int deactivate(@Param("adminIds") Collection<String> adminIds, @Param("now") LocalDateTime now);
+
+    // Bulk removal (AdminService.removeAdmins): set-based statements, so Admin.users is never loaded
+
+    @Query("select new com.example.demo.repository.AdminStatus(a.id, a.adminId, a.isActive) "
+            + "from Admin a where a.adminId in :adminIds")
+    List<AdminStatus> findStatuses(@Param("adminIds") Collection<String> adminIds);
+
+    // Users must be deleted first (UserRepository.deleteByAdminPks)
+    @Transactional
+    @Modifying
+    @Query("delete from Admin a where a.id in :adminPks")
+    int deleteByPks(@Param("adminPks") Collection<Long> adminPks);
+
+    @Transactional
+    @Modifying
+    @Query("update Admin a set a.password = :password, a.passwordChanged = false, a.firstLogin = true, "
+            + "a.updatedAt = :now where a.adminId = :adminId")
+    int resetPassword(@Param("adminId") String adminId, @Param("password") String password,
+                      @Param("now") LocalDateTime now);
 }
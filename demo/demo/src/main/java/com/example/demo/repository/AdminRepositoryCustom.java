@@ -0,0 +1,12 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.Admin;
+
+import java.util.Optional;
+
+public interface AdminRepositoryCustom {
+
+    Optional<Admin> findByAdminId(String adminId);
+
+    Optional<Admin> findByName(String name);
+}
@@ -0,0 +1,36 @@
+package com.example.demo.repository;
+
+import com.example.demo.model.Admin;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public class AdminRepositoryImpl implements AdminRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // adminId is the natural id: resolved through the natural-id and entity caches before hitting the database
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Admin> findByAdminId(String adminId) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Admin.class)
+                .loadOptional(adminId);
+    }
+
+    // Login lookup; served from the query cache until an admin row changes. Not for replica reads
+    // (CacheMode.GET, see ReplicaCacheModeJpaDialect): Hibernate would still cache what a miss read.
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Admin> findByName(String name) {
+        Session session = entityManager.unwrap(Session.class);
+        return session.createSelectionQuery("from Admin a where a.name = :name", Admin.class)
+                .setParameter("name", name)
+                .setCacheable(session.getCacheMode().isPutEnabled())
+                .uniqueResultOptional();
+    }
+}
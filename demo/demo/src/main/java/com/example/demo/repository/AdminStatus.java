@@ -0,0 +1,12 @@
+package com.example.demo.repository;
+
+/**
+ * What a bulk removal needs to know about an admin: its primary key for the set-based deletes and
+ * whether it is still active. Selected directly, so neither the Admin nor its users are loaded.
+ */
+public record AdminStatus(
+        Long id,
+        String adminId,
+        Boolean isActive
+) {
+}
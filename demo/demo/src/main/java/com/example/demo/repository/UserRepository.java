@@ -3,17 +3,88 @@ package com.example.demo.repository;
 import com.example.demo.model.User;
 import com.example.demo.model.Admin;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
-    Page<User> findByAdmin(Admin admin, Pageable pageable);
+    String SUMMARY = "select new com.example.demo.repository.UserSummary("
+            + "u.id, u.username, u.rank, u.areaOfWorking, u.createdAt, u.updatedAt) ";
+
+    @Query(value = SUMMARY + "from User u where u.admin = :admin",
+            countQuery = "select count(u) from User u where u.admin = :admin")
+    Page<UserSummary> findSummariesByAdmin(@Param("admin") Admin admin, Pageable pageable);
 
     Optional<User> findByAdminAndUsername(Admin admin, String username);
+
+    long countByAdmin(Admin admin);
+
+    // Bulk existence check used by bulk user creation: one query per chunk instead of one per item
+    @Query("select u.username from User u where u.admin = :admin and u.username in :usernames")
+    List<String> findExistingUsernames(@Param("admin") Admin admin, @Param("usernames") Collection<String> usernames);
+
+    // Keyset pages: seek past the last row seen instead of OFFSET, and no count query
+
+    @Query(SUMMARY + "from User u where u.admin = :admin and u.id > :afterId order by u.id")
+    List<UserSummary> findPageById(@Param("admin") Admin admin, @Param("afterId") long afterId, Limit limit);
+
+    @Query(SUMMARY + "from User u where u.admin = :admin "
+            // The leading >= gives H2 an index range on (admin_id, username); the OR trims ties
+            + "and u.username >= :afterUsername and (u.username > :afterUsername or u.id > :afterId) "
+            + "order by u.username, u.id")
+    List<UserSummary> findPageByUsername(@Param("admin") Admin admin, @Param("afterUsername") String afterUsername,
+                                  @Param("afterId") long afterId, Limit limit);
+
+    // Forward-only cursor for exports; must be consumed inside a read-only transaction and closed
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SUMMARY + "from User u where u.admin = :admin order by u.id")
+    Stream<UserSummary> streamSummariesByAdmin(@Param("admin") Admin admin);
+
+    // Single-statement mutations keyed by (admin.adminId, username); each returns the affected row count.
+    // Bulk statements skip @PreUpdate, so updatedAt is set explicitly.
+
+    @Transactional
+    @Modifying
+    @Query("delete from User u where u.username = :username "
+            + "and u.admin.id in (select a.id from Admin a where a.adminId = :adminId)")
+    int deleteByAdminIdAndUsername(@Param("adminId") String adminId, @Param("username") String username);
+
+    // Every user of the given admins in one statement, for deleting admins without loading Admin.users
+    @Transactional
+    @Modifying
+    @Query("delete from User u where u.admin.id in :adminPks")
+    int deleteByAdminPks(@Param("adminPks") Collection<Long> adminPks);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.username = :newUsername, u.updatedAt = :now where u.username = :username "
+            + "and u.admin.id in (select a.id from Admin a where a.adminId = :adminId)")
+    int updateUsername(@Param("adminId") String adminId, @Param("username") String username,
+                       @Param("newUsername") String newUsername, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("update User u set u.rank = :rank, u.areaOfWorking = :areaOfWorking, u.updatedAt = :now "
+            + "where u.username = :username "
+            + "and u.admin.id in (select a.id from Admin a where a.adminId = :adminId)")
+    int updateRankAndArea(@Param("adminId") String adminId, @Param("username") String username,
+                          @Param("rank") String rank, @Param("areaOfWorking") String areaOfWorking,
+                          @Param("now") LocalDateTime now);
 }
@@ -0,0 +1,17 @@
+package com.example.demo.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Columns shown in user listings. Selected directly by the listing queries, so no User entity,
+ * password hash or Admin association is loaded or serialized.
+ */
+public record UserSummary(
+        Long id,
+        String username,
+        String rank,
+        String areaOfWorking,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+}
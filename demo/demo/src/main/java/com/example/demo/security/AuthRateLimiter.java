@@ -0,0 +1,144 @@
+package com.example.demo.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throttles the BCrypt-backed auth endpoints per username and per client IP.
+ * Limits are read from app.rate-limit.&lt;endpoint&gt;.* for each endpoint.
+ *
+ * The client IP comes from {@link #clientIp}: the forwarded-for header when the request arrives
+ * from a trusted proxy, otherwise the socket address. Loopback clients (the desktop app's own UI)
+ * get no IP bucket, since every one of them shares 127.0.0.1; their usernames are still limited.
+ */
+@Component
+public class AuthRateLimiter {
+
+    public static final String LOGIN = "login";
+    public static final String CHANGE_PASSWORD = "change-password";
+    public static final String FORCE_CHANGE_PASSWORD = "force-change-password";
+
+    private static final String[] ENDPOINTS = { LOGIN, CHANGE_PASSWORD, FORCE_CHANGE_PASSWORD };
+
+    @Autowired
+    private Environment environment;
+
+    private final Map<String, TokenBucketRateLimiter> usernameLimiters = new LinkedHashMap<>();
+    private final Map<String, TokenBucketRateLimiter> ipLimiters = new LinkedHashMap<>();
+    private boolean enabled;
+    private boolean ipEnabled;
+    private boolean skipLoopback;
+    private Set<String> trustedProxies;
+    private String forwardedHeader;
+
+    @PostConstruct
+    public void init() {
+        enabled = environment.getProperty("app.rate-limit.enabled", Boolean.class, true);
+        int maxKeys = environment.getProperty("app.rate-limit.max-keys", Integer.class, 100_000);
+        ipEnabled = environment.getProperty("app.rate-limit.ip.enabled", Boolean.class, true);
+        skipLoopback = environment.getProperty("app.rate-limit.ip.skip-loopback", Boolean.class, true);
+        trustedProxies = Arrays.stream(environment.getProperty("app.rate-limit.ip.trusted-proxies", "").split(","))
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .collect(Collectors.toSet());
+        forwardedHeader = environment.getProperty("app.rate-limit.ip.forwarded-header", "X-Forwarded-For");
+
+        for (String endpoint : ENDPOINTS) {
+            String prefix = "app.rate-limit." + endpoint + ".";
+            usernameLimiters.put(endpoint, new TokenBucketRateLimiter(
+                    environment.getProperty(prefix + "username-capacity", Integer.class, 5),
+                    environment.getProperty(prefix + "username-per-minute", Integer.class, 5),
+                    maxKeys));
+            ipLimiters.put(endpoint, new TokenBucketRateLimiter(
+                    environment.getProperty(prefix + "ip-capacity", Integer.class, 30),
+                    environment.getProperty(prefix + "ip-per-minute", Integer.class, 30),
+                    maxKeys));
+        }
+    }
+
+    /**
+     * The address to throttle the request by, or null when it gets no IP bucket. Forwarded-for
+     * entries are read right to left, skipping trusted proxies: the first other entry was added by
+     * a trusted proxy, while anything left of it may have been set by the client.
+     */
+    public String clientIp(HttpServletRequest request) {
+        if (!ipEnabled) {
+            return null;
+        }
+        String address = request.getRemoteAddr();
+        String forwarded = trustedProxies.contains(address) ? request.getHeader(forwardedHeader) : null;
+        if (forwarded != null && !forwarded.isBlank()) {
+            String[] hops = forwarded.split(",");
+            address = hops[0].trim();
+            for (int i = hops.length - 1; i >= 0; i--) {
+                String hop = hops[i].trim();
+                if (!hop.isEmpty() && !trustedProxies.contains(hop)) {
+                    address = hop;
+                    break;
+                }
+            }
+        }
+        return skipLoopback && isLoopback(address) ? null : address;
+    }
+
+    // Literal check only: forwarded entries are client-supplied text and must not trigger DNS lookups
+    private static boolean isLoopback(String address) {
+        return address.startsWith("127.") || address.equals("::1") || address.equals("0:0:0:0:0:0:0:1");
+    }
+
+    /**
+     * Returns 0 if the request may proceed, otherwise the number of seconds the client
+     * should wait before retrying.
+     */
+    public long tryAcquire(String endpoint, String username, String clientIp) {
+        if (!enabled) {
+            return 0;
+        }
+
+        // IP first: a request rejected by its IP must not use up the username's tokens
+        long wait = 0;
+        if (clientIp != null) {
+            wait = ipLimiters.get(endpoint).tryAcquire(clientIp);
+        }
+        if (wait == 0 && username != null && !username.isEmpty()) {
+            wait = usernameLimiters.get(endpoint).tryAcquire(username.toLowerCase(Locale.ROOT));
+        }
+        return wait == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + 999_999_999));
+    }
+
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.MINUTES)
+    public void evictIdleBuckets() {
+        usernameLimiters.values().forEach(TokenBucketRateLimiter::evictIdle);
+        ipLimiters.values().forEach(TokenBucketRateLimiter::evictIdle);
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        for (String endpoint : ENDPOINTS) {
+            TokenBucketRateLimiter byUsername = usernameLimiters.get(endpoint);
+            TokenBucketRateLimiter byIp = ipLimiters.get(endpoint);
+
+            Map<String, Object> endpointStats = new LinkedHashMap<>();
+            endpointStats.put("rejectedByUsername", byUsername.getRejectedCount());
+            endpointStats.put("rejectedByIp", byIp.getRejectedCount());
+            endpointStats.put("trackedUsernames", byUsername.getTrackedKeys());
+            endpointStats.put("trackedIps", byIp.getTrackedKeys());
+            endpointStats.put("overflowedUsernames", byUsername.getOverflowCount());
+            endpointStats.put("overflowedIps", byIp.getOverflowCount());
+            stats.put(endpoint, endpointStats);
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.demo.security;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+/**
+ * Access to the admin identified by the request's signed token.
+ */
+public final class CurrentAdmin {
+
+    private CurrentAdmin() {
+    }
+
+    public static Optional<TokenService.TokenClaims> get() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof TokenService.TokenClaims claims) {
+            return Optional.of(claims);
+        }
+        return Optional.empty();
+    }
+
+    /** A super admin may act for any admin; an admin only for itself. */
+    public static boolean canActFor(String adminId) {
+        return get()
+                .map(claims -> "SUPER_ADMIN".equals(claims.role()) || claims.adminId().equals(adminId))
+                .orElse(false);
+    }
+}
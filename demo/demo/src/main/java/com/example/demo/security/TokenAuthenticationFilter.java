@@ -0,0 +1,52 @@
+package com.example.demo.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Authenticates requests carrying a valid {@code Authorization: Bearer} token. The token is
+ * checked in memory by {@link TokenService}, including the revocations of removed admins; no
+ * database lookup happens per request.
+ */
+public class TokenAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final String BEARER = "Bearer ";
+
+    private final TokenService tokenService;
+
+    public TokenAuthenticationFilter(TokenService tokenService) {
+        this.tokenService = tokenService;
+    }
+
+    // Async dispatches (CompletableFuture / streaming responses) must be authenticated again
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+
+        if (header != null && header.startsWith(BEARER)) {
+            tokenService.verify(header.substring(BEARER.length()).trim()).ifPresent(claims -> {
+                UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                        claims, null, List.of(new SimpleGrantedAuthority("ROLE_" + claims.role())));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            });
+        }
+
+        chain.doFilter(request, response);
+    }
+}
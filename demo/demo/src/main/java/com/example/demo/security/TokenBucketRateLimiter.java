@@ -0,0 +1,103 @@
+package com.example.demo.security;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket per key, implemented as GCRA: each bucket is a single AtomicLong holding the
+ * theoretical arrival time, updated with a CAS loop, so acquiring never takes a lock.
+ * Buckets that have fully refilled carry no state and are dropped by {@link #evictIdle()}, which
+ * runs on a schedule, never on the request thread.
+ *
+ * At most maxKeys buckets are tracked. Once that many keys are busy, every further key shares
+ * one overflow bucket with the same limits, so spraying distinct keys is throttled as a whole
+ * instead of slipping through.
+ */
+public class TokenBucketRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstNanos;
+    private final int maxKeys;
+
+    private final LongSupplier clock;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong overflow;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+
+    public TokenBucketRateLimiter(int capacity, int refillPerMinute, int maxKeys) {
+        this(capacity, refillPerMinute, maxKeys, System::nanoTime);
+    }
+
+    // Tests drive the clock
+    TokenBucketRateLimiter(int capacity, int refillPerMinute, int maxKeys, LongSupplier clock) {
+        this.clock = clock;
+        this.overflow = new AtomicLong(clock.getAsLong());
+        this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / Math.max(refillPerMinute, 1);
+        this.burstNanos = emissionIntervalNanos * Math.max(capacity, 1);
+        this.maxKeys = maxKeys;
+    }
+
+    /**
+     * Takes one token for the key. Returns 0 when allowed, otherwise the number of
+     * nanoseconds until a token becomes available.
+     */
+    public long tryAcquire(String key) {
+        long now = clock.getAsLong();
+        AtomicLong bucket = bucketFor(key, now);
+
+        while (true) {
+            long tat = bucket.get();
+            long newTat = Math.max(tat, now) + emissionIntervalNanos;
+            long wait = newTat - now - burstNanos;
+
+            if (wait > 0) {
+                rejected.increment();
+                return wait;
+            }
+            if (bucket.compareAndSet(tat, newTat)) {
+                return 0;
+            }
+        }
+    }
+
+    /** Drops buckets that are full again; they are indistinguishable from a new bucket. */
+    public void evictIdle() {
+        long now = clock.getAsLong();
+        buckets.forEach((key, bucket) -> {
+            if (bucket.get() - now <= 0) {
+                buckets.remove(key, bucket);
+            }
+        });
+    }
+
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    public int getTrackedKeys() {
+        return buckets.size();
+    }
+
+    /** Requests for keys that found the table full and used the shared overflow bucket. */
+    public long getOverflowCount() {
+        return overflowed.sum();
+    }
+
+    private AtomicLong bucketFor(String key, long now) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() >= maxKeys) {
+            // Fail closed: no scan here, the scheduled evictIdle() makes room again
+            overflowed.increment();
+            return overflow;
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.demo.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PostConstruct;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Issues and verifies stateless HMAC-SHA256 signed tokens of the form
+ * {@code base64url(role|expiry|tokenId|adminId).base64url(signature)}.
+ * Verification is done entirely in memory; revoked token IDs are kept only until they expire.
+ * Removed admins are revoked as a whole: every token issued to them up to the removal is refused.
+ */
+@Service
+public class TokenService {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    @Value("${app.auth.token-secret:}")
+    private String configuredSecret;
+
+    @Value("${app.auth.token-ttl-minutes:480}")
+    private long ttlMinutes;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Map<String, Long> revoked = new ConcurrentHashMap<>();
+    // Admin id -> epoch second up to which every token issued to that admin is refused
+    private final Map<String, Long> revokedBefore = new ConcurrentHashMap<>();
+    private SecretKeySpec key;
+    private ThreadLocal<Mac> macs;
+
+    public record TokenClaims(String adminId, String role, long expiresAt, String tokenId) {
+    }
+
+    @PostConstruct
+    public void init() {
+        byte[] secret;
+        if (configuredSecret == null || configuredSecret.isBlank()) {
+            // No shared secret configured: tokens are valid for the lifetime of this process
+            secret = new byte[32];
+            random.nextBytes(secret);
+        } else {
+            secret = configuredSecret.getBytes(StandardCharsets.UTF_8);
+        }
+
+        key = new SecretKeySpec(secret, ALGORITHM);
+        macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    public String issue(String adminId, String role) {
+        long expiresAt = System.currentTimeMillis() / 1000 + ttlSeconds();
+        byte[] id = new byte[9];
+        random.nextBytes(id);
+
+        String payload = role + "|" + expiresAt + "|" + ENCODER.encodeToString(id) + "|" + adminId;
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    public Optional<TokenClaims> verify(String token) {
+        if (token == null) {
+            return Optional.empty();
+        }
+
+        int dot = token.indexOf('.');
+        if (dot <= 0 || dot != token.lastIndexOf('.')) {
+            return Optional.empty();
+        }
+
+        try {
+            byte[] payloadBytes = DECODER.decode(token.substring(0, dot));
+            byte[] signature = DECODER.decode(token.substring(dot + 1));
+
+            // Constant-time comparison so the signature cannot be guessed byte by byte
+            if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+                return Optional.empty();
+            }
+
+            String[] parts = new String(payloadBytes, StandardCharsets.UTF_8).split("\\|", 4);
+            if (parts.length != 4) {
+                return Optional.empty();
+            }
+
+            TokenClaims claims = new TokenClaims(parts[3], parts[0], Long.parseLong(parts[1]), parts[2]);
+            if (claims.expiresAt() <= System.currentTimeMillis() / 1000 || revoked.containsKey(claims.tokenId())
+                    || issuedBeforeRevocation(claims)) {
+                return Optional.empty();
+            }
+            return Optional.of(claims);
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    public void revoke(TokenClaims claims) {
+        revoked.put(claims.tokenId(), claims.expiresAt());
+    }
+
+    /**
+     * Refuses every token issued so far to these admins, e.g. once they are deactivated or deleted.
+     * Applied at once rather than after the commit: a rolled back removal only costs a new login.
+     */
+    public void revokeAll(Collection<String> adminIds) {
+        long now = System.currentTimeMillis() / 1000;
+        for (String adminId : adminIds) {
+            revokedBefore.put(adminId, now);
+        }
+    }
+
+    // Revoked entries can be dropped once the token would have expired anyway
+    @Scheduled(fixedDelay = 10, timeUnit = TimeUnit.MINUTES)
+    public void purgeExpiredRevocations() {
+        long now = System.currentTimeMillis() / 1000;
+        revoked.values().removeIf(expiresAt -> expiresAt <= now);
+        revokedBefore.values().removeIf(revokedAt -> revokedAt + ttlSeconds() <= now);
+    }
+
+    // Tokens carry their expiry only; the issue time follows from the TTL
+    private boolean issuedBeforeRevocation(TokenClaims claims) {
+        Long revokedAt = revokedBefore.get(claims.adminId());
+        return revokedAt != null && claims.expiresAt() - ttlSeconds() <= revokedAt;
+    }
+
+    private long ttlSeconds() {
+        return TimeUnit.MINUTES.toSeconds(ttlMinutes);
+    }
+
+    private byte[] sign(byte[] payload) {
+        Mac mac = macs.get();
+        return mac.doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.demo.service;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.springframework.stereotype.Component;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+
+/**
+ * Streams the first sheet of an .xlsx file row by row using the POI event (SAX) model.
+ * Only the current row is held in memory, so heap use does not grow with the sheet size.
+ */
+@Component
+public class AdminExcelReader {
+
+    public interface RowHandler {
+        /**
+         * {@code error} describes the first cell of the row that could not be read (its value is
+         * left empty), or is null when every cell was read.
+         */
+        void handleRow(int rowIndex, String[] cells, String error);
+    }
+
+    public void read(File file, int columns, RowHandler handler) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFReader reader = new XSSFReader(pkg);
+            ReadOnlySharedStringsTable sharedStrings = new ReadOnlySharedStringsTable(pkg);
+
+            Iterator<InputStream> sheets = reader.getSheetsData();
+            if (!sheets.hasNext()) {
+                return;
+            }
+
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(new SheetHandler(sharedStrings, columns, handler));
+                parser.parse(new InputSource(sheet));
+            }
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Invalid Excel file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Number of data rows (excluding the header) declared by the sheet's dimension element,
+     * or -1 when the sheet does not declare one. Only the start of the sheet XML is parsed.
+     */
+    public int estimateRowCount(File file) throws IOException {
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            Iterator<InputStream> sheets = new XSSFReader(pkg).getSheetsData();
+            if (!sheets.hasNext()) {
+                return 0;
+            }
+
+            DimensionHandler dimension = new DimensionHandler();
+            try (InputStream sheet = sheets.next()) {
+                XMLReader parser = XMLHelper.newXMLReader();
+                parser.setContentHandler(dimension);
+                parser.parse(new InputSource(sheet));
+            } catch (StopParsingException e) {
+                // dimension found (or sheet data reached), no need to read further
+            }
+            return dimension.lastRow;
+        } catch (OpenXML4JException | SAXException | ParserConfigurationException e) {
+            throw new IOException("Invalid Excel file: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Same coercion the workbook-based import applied to each cell: strings are trimmed,
+     * numbers are truncated to a whole number, booleans become "true"/"false" and
+     * everything else (formulas, errors, blanks) becomes an empty string.
+     */
+    public static String getCellValue(String cellType, String rawValue, boolean formula) {
+        if (formula || rawValue == null) return "";
+
+        switch (cellType) {
+            case "s":
+            case "inlineStr":
+                return rawValue.trim();
+            case "n":
+                return rawValue.isEmpty() ? "" : String.valueOf((long) Double.parseDouble(rawValue));
+            case "b":
+                return String.valueOf("1".equals(rawValue) || "true".equalsIgnoreCase(rawValue));
+            default:
+                return "";
+        }
+    }
+
+    private static class StopParsingException extends SAXException {
+    }
+
+    private static class DimensionHandler extends DefaultHandler {
+
+        private int lastRow = -1;
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes)
+                throws SAXException {
+            if ("dimension".equals(localName)) {
+                String ref = attributes.getValue("ref");
+                String digits = ref == null ? "" : ref.substring(ref.indexOf(':') + 1).replaceAll("[^0-9]", "");
+                // Row numbers are 1-based and the first row is the header
+                lastRow = digits.isEmpty() ? -1 : Integer.parseInt(digits) - 1;
+                throw new StopParsingException();
+            }
+            if ("sheetData".equals(localName)) {
+                throw new StopParsingException();
+            }
+        }
+    }
+
+    private static class SheetHandler extends DefaultHandler {
+
+        private final ReadOnlySharedStringsTable sharedStrings;
+        private final int columns;
+        private final RowHandler handler;
+
+        private final StringBuilder text = new StringBuilder();
+        private String[] cells;
+        private String error;
+        private int rowIndex = -1;
+        private int nextColumn;
+
+        private int column;
+        private String cellType;
+        private boolean formula;
+        private boolean inValue;
+        private boolean inPhonetic;
+
+        SheetHandler(ReadOnlySharedStringsTable sharedStrings, int columns, RowHandler handler) {
+            this.sharedStrings = sharedStrings;
+            this.columns = columns;
+            this.handler = handler;
+        }
+
+        @Override
+        public void startElement(String uri, String localName, String qName, Attributes attributes) {
+            switch (localName) {
+                case "row":
+                    cells = new String[columns];
+                    Arrays.fill(cells, "");
+                    error = null;
+                    nextColumn = 0;
+                    String r = attributes.getValue("r");
+                    try {
+                        rowIndex = r != null ? Integer.parseInt(r) - 1 : rowIndex + 1;
+                    } catch (NumberFormatException e) {
+                        rowIndex++;
+                        error = "Invalid row number: " + r;
+                    }
+                    break;
+                case "c":
+                    String ref = attributes.getValue("r");
+                    column = ref != null ? columnIndex(ref) : nextColumn;
+                    nextColumn = column + 1;
+                    String t = attributes.getValue("t");
+                    cellType = t != null ? t : "n";
+                    formula = false;
+                    text.setLength(0);
+                    break;
+                case "f":
+                    formula = true;
+                    break;
+                case "rPh":
+                    inPhonetic = true;
+                    break;
+                case "v":
+                    inValue = true;
+                    break;
+                case "t":
+                    inValue = "inlineStr".equals(cellType) && !inPhonetic;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void endElement(String uri, String localName, String qName) {
+            switch (localName) {
+                case "v":
+                case "t":
+                    inValue = false;
+                    break;
+                case "rPh":
+                    inPhonetic = false;
+                    break;
+                case "c":
+                    if (column < columns) {
+                        String raw = text.toString();
+                        try {
+                            if ("s".equals(cellType) && !formula && !raw.isEmpty()) {
+                                raw = sharedStrings.getItemAt(Integer.parseInt(raw.trim())).getString();
+                            }
+                            cells[column] = getCellValue(cellType, raw, formula);
+                        } catch (NumberFormatException e) {
+                            // One malformed cell fails its own row, not the whole file
+                            if (error == null) {
+                                error = "Invalid value in column " + (char) ('A' + column) + ": " + raw;
+                            }
+                        }
+                    }
+                    break;
+                case "row":
+                    handler.handleRow(rowIndex, cells, error);
+                    cells = null;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        @Override
+        public void characters(char[] ch, int start, int length) {
+            if (inValue) {
+                text.append(ch, start, length);
+            }
+        }
+
+        private static int columnIndex(String cellRef) {
+            int index = 0;
+            for (int i = 0; i < cellRef.length(); i++) {
+                char c = cellRef.charAt(i);
+                if (c < 'A' || c > 'Z') break;
+                index = index * 26 + (c - 'A' + 1);
+            }
+            return index - 1;
+        }
+    }
+}
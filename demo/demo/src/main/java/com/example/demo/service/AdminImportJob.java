@@ -0,0 +1,153 @@
+package com.example.demo.service;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * State of one asynchronous Excel import. Per-row results are appended to an NDJSON file
+ * so they can be streamed to the client while the job is still running.
+ */
+public class AdminImportJob {
+
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    // Admin id of the super admin who uploaded the file; only they may read the job
+    private final String submittedBy;
+    private final Path uploadFile;
+    private final Path resultsFile;
+    private final long createdAt = System.currentTimeMillis();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile long startedAt;
+    private volatile long finishedAt;
+    private volatile int estimatedRows = -1;
+    private volatile String error;
+
+    private final LongAdder rowsProcessed = new LongAdder();
+    private final LongAdder successCount = new LongAdder();
+    private final LongAdder updatedCount = new LongAdder();
+    private final LongAdder unchangedCount = new LongAdder();
+    private final LongAdder deactivatedCount = new LongAdder();
+    private final LongAdder skippedCount = new LongAdder();
+    private final LongAdder errorCount = new LongAdder();
+
+    // Bytes of the results file that contain complete lines and may be streamed
+    private final AtomicLong committedBytes = new AtomicLong();
+
+    public AdminImportJob(String id, String submittedBy, Path uploadFile, Path resultsFile) {
+        this.id = id;
+        this.submittedBy = submittedBy;
+        this.uploadFile = uploadFile;
+        this.resultsFile = resultsFile;
+    }
+
+    void start(int estimatedRows) {
+        this.estimatedRows = estimatedRows;
+        this.startedAt = System.currentTimeMillis();
+        this.status = Status.RUNNING;
+    }
+
+    void complete() {
+        finishedAt = System.currentTimeMillis();
+        status = Status.COMPLETED;
+    }
+
+    void fail(String error) {
+        this.error = error;
+        finishedAt = System.currentTimeMillis();
+        status = Status.FAILED;
+    }
+
+    void recordRow(String rowStatus) {
+        if ("deactivated".equals(rowStatus)) {
+            // Not a row of the file, so not part of rowsProcessed / estimatedRows
+            deactivatedCount.increment();
+            return;
+        }
+        rowsProcessed.increment();
+        if ("success".equals(rowStatus)) {
+            successCount.increment();
+        } else if ("updated".equals(rowStatus)) {
+            updatedCount.increment();
+        } else if ("unchanged".equals(rowStatus)) {
+            unchangedCount.increment();
+        } else if ("skipped".equals(rowStatus)) {
+            skippedCount.increment();
+        } else {
+            errorCount.increment();
+        }
+    }
+
+    void commitBytes(long bytes) {
+        committedBytes.set(bytes);
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public Map<String, Object> toStatusMap() {
+        long processed = rowsProcessed.sum();
+        long end = isFinished() ? finishedAt : System.currentTimeMillis();
+        double elapsedSeconds = startedAt == 0 ? 0 : Math.max(end - startedAt, 1) / 1000.0;
+        double rowsPerSecond = elapsedSeconds == 0 ? 0 : processed / elapsedSeconds;
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("jobId", id);
+        response.put("status", status.name());
+        response.put("rowsProcessed", processed);
+        response.put("estimatedRows", estimatedRows);
+        response.put("success", successCount.sum());
+        response.put("updated", updatedCount.sum());
+        response.put("unchanged", unchangedCount.sum());
+        response.put("skipped", skippedCount.sum());
+        response.put("errors", errorCount.sum());
+        response.put("deactivated", deactivatedCount.sum());
+        response.put("rowsPerSecond", Math.round(rowsPerSecond * 10) / 10.0);
+
+        if (status == Status.RUNNING && estimatedRows > 0 && rowsPerSecond > 0) {
+            long remaining = Math.max(estimatedRows - processed, 0);
+            response.put("etaSeconds", Math.round(remaining / rowsPerSecond));
+        }
+        if (error != null) {
+            response.put("error", error);
+        }
+        return response;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getSubmittedBy() {
+        return submittedBy;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Path getUploadFile() {
+        return uploadFile;
+    }
+
+    public Path getResultsFile() {
+        return resultsFile;
+    }
+
+    public long getCommittedBytes() {
+        return committedBytes.get();
+    }
+
+    public long getCreatedAt() {
+        return createdAt;
+    }
+
+    public long getFinishedAt() {
+        return finishedAt;
+    }
+}
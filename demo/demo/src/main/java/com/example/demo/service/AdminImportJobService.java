@@ -0,0 +1,212 @@
+package com.example.demo.service;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs Excel imports in the background on a bounded worker pool so uploads return at once
+ * and large sheets cannot tie up request threads.
+ */
+@Service
+public class AdminImportJobService {
+
+    private static final int LINES_PER_FLUSH = 100;
+
+    // Looked up on first use: the @Scheduled purge keeps this bean out of lazy initialization
+    // (fast-start profile), but the import machinery behind it is only needed once an upload arrives
+    @Autowired
+    private ObjectProvider<AdminService> adminService;
+
+    @Autowired
+    private ObjectProvider<AdminExcelReader> adminExcelReader;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    @Qualifier("importJobExecutor")
+    private ThreadPoolTaskExecutor executor;
+
+    @Value("${app.import.jobs.retention-minutes:60}")
+    private long retentionMinutes;
+
+    private final Map<String, AdminImportJob> jobs = new ConcurrentHashMap<>();
+
+    /**
+     * Spools the upload to disk and queues it. Throws {@link TaskRejectedException} when
+     * the worker pool and its queue are full.
+     */
+    public AdminImportJob submit(MultipartFile file, AdminImportOptions options, String submittedBy) throws IOException {
+        String jobId = UUID.randomUUID().toString();
+        Path upload = Files.createTempFile("admin-import-", ".xlsx");
+        Path results = Files.createTempFile("admin-import-", ".ndjson");
+
+        AdminImportJob job = new AdminImportJob(jobId, submittedBy, upload, results);
+        jobs.put(jobId, job);
+
+        try {
+            file.transferTo(upload);
+            executor.execute(() -> run(job, options));
+        } catch (IOException | TaskRejectedException e) {
+            jobs.remove(jobId);
+            deleteFiles(job);
+            throw e;
+        }
+
+        return job;
+    }
+
+    /** The job, if it exists and was submitted by {@code adminId}; other admins cannot tell it exists. */
+    public Optional<AdminImportJob> getJob(String jobId, String adminId) {
+        return Optional.ofNullable(jobs.get(jobId)).filter(job -> job.getSubmittedBy().equals(adminId));
+    }
+
+    /**
+     * Copies the job's NDJSON results to the output as they are written, returning once the
+     * job has finished and every line has been sent.
+     */
+    public void streamResults(AdminImportJob job, OutputStream out) throws IOException {
+        try (FileChannel channel = FileChannel.open(job.getResultsFile(), StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocate(8192);
+            long position = 0;
+
+            while (true) {
+                // Read the status first: once finished, the committed size is final
+                boolean finished = job.isFinished();
+                long committed = job.getCommittedBytes();
+
+                while (position < committed) {
+                    buffer.clear();
+                    buffer.limit((int) Math.min(buffer.capacity(), committed - position));
+                    int read = channel.read(buffer, position);
+                    if (read <= 0) break;
+                    out.write(buffer.array(), 0, read);
+                    position += read;
+                }
+                out.flush();
+
+                if (finished && position >= committed) {
+                    return;
+                }
+
+                try {
+                    Thread.sleep(250);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    @Scheduled(fixedDelay = 5, timeUnit = TimeUnit.MINUTES)
+    public void purgeFinishedJobs() {
+        long cutoff = System.currentTimeMillis() - TimeUnit.MINUTES.toMillis(retentionMinutes);
+
+        jobs.values().removeIf(job -> {
+            if (job.isFinished() && job.getFinishedAt() < cutoff) {
+                deleteFiles(job);
+                return true;
+            }
+            return false;
+        });
+    }
+
+    private void run(AdminImportJob job, AdminImportOptions options) {
+        try (ResultWriter writer = new ResultWriter(job)) {
+            job.start(adminExcelReader.getObject().estimateRowCount(job.getUploadFile().toFile()));
+            adminService.getObject().importAdminsFromExcel(job.getUploadFile().toFile(), options, writer);
+            // Before complete(): readers treat the committed size of a finished job as final
+            writer.flush();
+            job.complete();
+        } catch (Exception e) {
+            job.fail("Error processing file: " + e.getMessage());
+        } finally {
+            try {
+                Files.deleteIfExists(job.getUploadFile());
+            } catch (IOException ignored) {
+                // temp file, best effort
+            }
+        }
+    }
+
+    private void deleteFiles(AdminImportJob job) {
+        try {
+            Files.deleteIfExists(job.getUploadFile());
+            Files.deleteIfExists(job.getResultsFile());
+        } catch (IOException ignored) {
+            // temp files, best effort
+        }
+    }
+
+    /** Appends each row result as one JSON line and publishes complete lines to readers. */
+    private class ResultWriter implements Consumer<Map<String, String>>, AutoCloseable {
+
+        private final AdminImportJob job;
+        private final OutputStream out;
+        private long written;
+        private int unflushedLines;
+
+        ResultWriter(AdminImportJob job) throws IOException {
+            this.job = job;
+            this.out = new BufferedOutputStream(Files.newOutputStream(job.getResultsFile()));
+        }
+
+        @Override
+        public void accept(Map<String, String> result) {
+            try {
+                byte[] line = (objectMapper.writeValueAsString(result) + "\n").getBytes(StandardCharsets.UTF_8);
+                out.write(line);
+                written += line.length;
+                job.recordRow(result.get("status"));
+
+                if (++unflushedLines >= LINES_PER_FLUSH) {
+                    flush();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void flush() throws IOException {
+            out.flush();
+            job.commitBytes(written);
+            unflushedLines = 0;
+        }
+
+        // Also publishes the lines written before a failure, so a failed job still reports its rows
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                out.close();
+            }
+        }
+    }
+}
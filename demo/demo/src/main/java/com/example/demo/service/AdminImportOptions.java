@@ -0,0 +1,14 @@
+package com.example.demo.service;
+
+/**
+ * How an admin import treats rows for admins that already exist.
+ *
+ * @param upsert            update changed name / rank / area of existing admins instead of skipping them
+ * @param deactivateMissing deactivate active admins that are not in the file; with upsert, listed but
+ *                          inactive admins are activated again
+ */
+public record AdminImportOptions(boolean upsert, boolean deactivateMissing) {
+
+    /** Create new admins, skip existing ones. */
+    public static final AdminImportOptions CREATE_ONLY = new AdminImportOptions(false, false);
+}
@@ -0,0 +1,28 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Admin;
+
+import java.util.Map;
+
+/**
+ * A validated import row waiting to be written, together with the result map
+ * that is reported back to the caller once the row has been persisted or skipped.
+ */
+public class AdminImportRow {
+
+    private final Admin admin;
+    private final Map<String, String> result;
+
+    public AdminImportRow(Admin admin, Map<String, String> result) {
+        this.admin = admin;
+        this.result = result;
+    }
+
+    public Admin getAdmin() {
+        return admin;
+    }
+
+    public Map<String, String> getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,204 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Admin;
+import com.example.demo.repository.AdminImportState;
+import com.example.demo.repository.AdminRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk write path for admin imports. Each call is one transaction (one commit interval);
+ * inside it rows are processed in chunks with a single existence query per chunk and the
+ * inserts are flushed as JDBC batches. Upserts compare content hashes in the same single
+ * query per chunk and only load (and update) the admins whose rows changed.
+ */
+@Service
+public class AdminImportWriter {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Value("${app.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Transactional
+    public void write(List<AdminImportRow> rows, String initialPassword) {
+        forEachChunk(rows, chunk -> writeChunk(chunk, initialPassword));
+    }
+
+    /**
+     * Creates new admins and updates existing ones whose name, rank or area changed. Unchanged
+     * rows cost one hash comparison. With {@code reactivate}, listed but inactive admins are
+     * activated again.
+     */
+    @Transactional
+    public void upsert(List<AdminImportRow> rows, String initialPassword, boolean reactivate) {
+        forEachChunk(rows, chunk -> upsertChunk(chunk, initialPassword, reactivate));
+    }
+
+    /** Deactivates the given admins; returns how many were still active. */
+    @Transactional
+    public int deactivate(List<String> adminIds) {
+        LocalDateTime now = LocalDateTime.now();
+        int deactivated = 0;
+        for (int from = 0; from < adminIds.size(); from += chunkSize) {
+            deactivated += adminRepository.deactivate(adminIds.subList(from, Math.min(from + chunkSize, adminIds.size())), now);
+        }
+        return deactivated;
+    }
+
+    private void forEachChunk(List<AdminImportRow> rows, Consumer<List<AdminImportRow>> writer) {
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            writer.accept(rows.subList(from, Math.min(from + chunkSize, rows.size())));
+
+            // Send the chunk as one JDBC batch and keep the persistence context small
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    private void writeChunk(List<AdminImportRow> chunk, String initialPassword) {
+        Set<String> adminIds = chunk.stream()
+                .map(row -> row.getAdmin().getAdminId())
+                .collect(Collectors.toSet());
+
+        // Rows already in the database, plus rows seen earlier in this chunk, are skipped
+        Set<String> existing = new HashSet<>(adminRepository.findExistingAdminIds(adminIds));
+
+        List<AdminImportRow> created = new ArrayList<>();
+
+        for (AdminImportRow row : chunk) {
+            Admin admin = row.getAdmin();
+
+            if (!existing.add(admin.getAdminId())) {
+                row.getResult().put("status", "skipped");
+                row.getResult().put("adminId", admin.getAdminId());
+                row.getResult().put("message", "Admin already exists");
+                continue;
+            }
+
+            created.add(row);
+        }
+
+        create(created, initialPassword);
+    }
+
+    private void upsertChunk(List<AdminImportRow> chunk, String initialPassword, boolean reactivate) {
+        Set<String> adminIds = chunk.stream()
+                .map(row -> row.getAdmin().getAdminId())
+                .collect(Collectors.toSet());
+
+        Map<String, AdminImportState> stored = adminRepository.findImportStates(adminIds).stream()
+                .collect(Collectors.toMap(AdminImportState::adminId, Function.identity()));
+
+        Set<String> seen = new HashSet<>();
+        List<AdminImportRow> created = new ArrayList<>();
+        Map<String, AdminImportRow> changed = new LinkedHashMap<>();
+
+        for (AdminImportRow row : chunk) {
+            Admin admin = row.getAdmin();
+
+            if (!seen.add(admin.getAdminId())) {
+                row.getResult().put("status", "skipped");
+                row.getResult().put("adminId", admin.getAdminId());
+                row.getResult().put("message", "Admin listed more than once");
+                continue;
+            }
+
+            AdminImportState state = stored.get(admin.getAdminId());
+            if (state == null) {
+                created.add(row);
+                continue;
+            }
+
+            String hash = Admin.contentHash(admin.getName(), admin.getRank(), admin.getAreaOfWorking());
+            if (hash.equals(state.contentHash()) && (!reactivate || state.isActive())) {
+                row.getResult().put("status", "unchanged");
+                row.getResult().put("adminId", admin.getAdminId());
+                row.getResult().put("message", "Admin is up to date");
+                continue;
+            }
+
+            changed.put(admin.getAdminId(), row);
+        }
+
+        if (!changed.isEmpty()) {
+            // Dirty checking turns these into one JDBC update batch at the chunk flush
+            for (Admin existing : adminRepository.findByAdminIdIn(changed.keySet())) {
+                update(existing, changed.get(existing.getAdminId()), reactivate);
+            }
+        }
+
+        create(created, initialPassword);
+    }
+
+    private void update(Admin existing, AdminImportRow row, boolean reactivate) {
+        Admin incoming = row.getAdmin();
+        boolean contentChanged = !incoming.getName().equals(existing.getName())
+                || !incoming.getRank().equals(existing.getRank())
+                || !incoming.getAreaOfWorking().equals(existing.getAreaOfWorking());
+        boolean reactivated = reactivate && !existing.getIsActive();
+
+        existing.setName(incoming.getName());
+        existing.setRank(incoming.getRank());
+        existing.setAreaOfWorking(incoming.getAreaOfWorking());
+        // Also fills in the hash for admins stored before it existed, even when nothing else changed
+        existing.setContentHash(Admin.contentHash(incoming.getName(), incoming.getRank(), incoming.getAreaOfWorking()));
+        if (reactivated) {
+            existing.setIsActive(true);
+        }
+
+        row.getResult().put("adminId", existing.getAdminId());
+        if (contentChanged || reactivated) {
+            row.getResult().put("status", "updated");
+            row.getResult().put("name", existing.getName());
+            row.getResult().put("message", reactivated ? "Admin reactivated" : "Admin details updated");
+        } else {
+            row.getResult().put("status", "unchanged");
+            row.getResult().put("message", "Admin is up to date");
+        }
+    }
+
+    private void create(List<AdminImportRow> created, String initialPassword) {
+        List<CompletableFuture<String>> hashes = new ArrayList<>();
+        for (int i = 0; i < created.size(); i++) {
+            hashes.add(passwordHashingService.encode(initialPassword));
+        }
+
+        // Hash the whole chunk in parallel, then persist in row order
+        for (int i = 0; i < created.size(); i++) {
+            AdminImportRow row = created.get(i);
+            Admin admin = row.getAdmin();
+
+            admin.setPassword(hashes.get(i).join());
+            entityManager.persist(admin);
+
+            row.getResult().put("status", "success");
+            row.getResult().put("adminId", admin.getAdminId());
+            row.getResult().put("name", admin.getName());
+            row.getResult().put("message", "Admin created successfully with default password");
+        }
+    }
+}
@@ -2,15 +2,24 @@ package com.example.demo.service;
 
 import com.example.demo.model.Admin;
 import com.example.demo.repository.AdminRepository;
-import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import com.example.demo.repository.AdminStatus;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.security.TokenService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 @Service
 public class AdminService {
@@ -20,74 +29,187 @@ public class AdminService {
     
     @Autowired
     private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AdminExcelReader adminExcelReader;
+
+    @Autowired
+    private AdminImportWriter adminImportWriter;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Autowired
+    private PortalMetrics portalMetrics;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private UserAggregateService userAggregateService;
+
+    @Autowired
+    private UserListVersions userListVersions;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Value("${app.import.commit-interval:2000}")
+    private int importCommitInterval;
+
+    // Admin ids per IN list of the bulk removal statements
+    @Value("${app.import.chunk-size:500}")
+    private int chunkSize;
     
     private static final String DEFAULT_PASSWORD = "Admin@123456";
+
+    // Seeded at startup (DemoApplication) and never part of an HR roster
+    private static final String SUPER_ADMIN_ID = "prerana";
     
     public List<Map<String, String>> importAdminsFromExcel(MultipartFile file) throws IOException {
+        return importAdminsFromExcel(file, AdminImportOptions.CREATE_ONLY);
+    }
+
+    public List<Map<String, String>> importAdminsFromExcel(MultipartFile file, AdminImportOptions options) throws IOException {
         List<Map<String, String>> results = new ArrayList<>();
-        
-        try (Workbook workbook = new XSSFWorkbook(file.getInputStream())) {
-            Sheet sheet = workbook.getSheetAt(0);
-            
+        importAdminsFromExcel(file, options, results::add);
+        return results;
+    }
+
+    public void importAdminsFromExcel(MultipartFile file, AdminImportOptions options,
+                                      Consumer<Map<String, String>> sink) throws IOException {
+        // The event reader needs random access to the zip, so spool the upload to disk first
+        Path upload = Files.createTempFile("admin-import-", ".xlsx");
+        try {
+            file.transferTo(upload);
+            importAdminsFromExcel(upload.toFile(), options, sink);
+        } finally {
+            Files.deleteIfExists(upload);
+        }
+    }
+
+    public void importAdminsFromExcel(File file, AdminImportOptions options, Consumer<Map<String, String>> sink) throws IOException {
+        List<Map<String, String>> results = new ArrayList<>();
+        List<AdminImportRow> pending = new ArrayList<>();
+        // Every admin id in the file, valid row or not, so a typo elsewhere in a row never deactivates anyone
+        Set<String> listed = new HashSet<>();
+
+        adminExcelReader.read(file, 4, (rowIndex, cells, error) -> {
             // Skip header row (row 0)
-            for (int i = 1; i < sheet.getPhysicalNumberOfRows(); i++) {
-                Row row = sheet.getRow(i);
-                if (row == null) continue;
-                
-                Map<String, String> resultMap = new HashMap<>();
-                
-                try {
-                    String adminId = getCellValue(row.getCell(0));
-                    String name = getCellValue(row.getCell(1));
-                    String rank = getCellValue(row.getCell(2));
-                    String areaOfWorking = getCellValue(row.getCell(3));
-                    
-                    // Validate required fields
-                    if (adminId.isEmpty() || name.isEmpty() || rank.isEmpty() || areaOfWorking.isEmpty()) {
-                        resultMap.put("status", "error");
-                        resultMap.put("adminId", adminId);
-                        resultMap.put("message", "Missing required fields");
-                        results.add(resultMap);
-                        continue;
-                    }
-                    
-                    // Check if admin already exists
-                    if (adminRepository.findByAdminId(adminId).isPresent()) {
-                        resultMap.put("status", "skipped");
-                        resultMap.put("adminId", adminId);
-                        resultMap.put("message", "Admin already exists");
-                        results.add(resultMap);
-                        continue;
-                    }
-                    
-                    // Create new admin
-                    Admin admin = new Admin();
-                    admin.setAdminId(adminId);
-                    admin.setName(name);
-                    admin.setRank(rank);
-                    admin.setAreaOfWorking(areaOfWorking);
-                    admin.setPassword(encodePassword(DEFAULT_PASSWORD));
-                    admin.setPasswordChanged(false);
-                    admin.setFirstLogin(true);
-                    admin.setIsActive(true);
-                    
-                    adminRepository.save(admin);
-                    
-                    resultMap.put("status", "success");
-                    resultMap.put("adminId", adminId);
-                    resultMap.put("name", name);
-                    resultMap.put("message", "Admin created successfully with default password");
-                    
-                } catch (Exception e) {
-                    resultMap.put("status", "error");
-                    resultMap.put("message", "Error processing row: " + e.getMessage());
+            if (rowIndex == 0) return;
+
+            if (!cells[0].isEmpty()) {
+                listed.add(cells[0]);
+            }
+
+            Map<String, String> resultMap = new HashMap<>();
+            AdminImportRow row = toImportRow(cells, error, resultMap);
+            if (row != null) {
+                pending.add(row);
+            }
+            results.add(resultMap);
+
+            // Commit every commit-interval rows so memory stays bounded for large sheets
+            if (results.size() >= importCommitInterval) {
+                flushImport(pending, results, options, sink);
+            }
+        });
+
+        flushImport(pending, results, options, sink);
+
+        // An empty or unreadable roster must not deactivate everyone
+        if (options.deactivateMissing() && !listed.isEmpty()) {
+            deactivateMissing(listed, sink);
+        }
+    }
+
+    private void deactivateMissing(Set<String> listed, Consumer<Map<String, String>> sink) {
+        List<String> missing = new ArrayList<>();
+        for (String adminId : adminRepository.findActiveAdminIds()) {
+            if (!listed.contains(adminId) && !SUPER_ADMIN_ID.equals(adminId)) {
+                missing.add(adminId);
+            }
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        adminImportWriter.deactivate(missing);
+        // Logins of these admins are refused from now on; so are the tokens they already hold
+        tokenService.revokeAll(missing);
+
+        List<Map<String, String>> results = new ArrayList<>();
+        for (String adminId : missing) {
+            Map<String, String> resultMap = new HashMap<>();
+            resultMap.put("status", "deactivated");
+            resultMap.put("adminId", adminId);
+            resultMap.put("message", "Admin not in the import file, deactivated");
+            results.add(resultMap);
+        }
+        portalMetrics.recordImportRows(PortalMetrics.ImportType.ADMIN, results);
+        results.forEach(sink);
+    }
+
+    private AdminImportRow toImportRow(String[] cells, String error, Map<String, String> resultMap) {
+        String adminId = cells[0];
+        String name = cells[1];
+        String rank = cells[2];
+        String areaOfWorking = cells[3];
+
+        if (error != null) {
+            resultMap.put("status", "error");
+            resultMap.put("adminId", adminId);
+            resultMap.put("message", error);
+            return null;
+        }
+
+        // Validate required fields
+        if (adminId.isEmpty() || name.isEmpty() || rank.isEmpty() || areaOfWorking.isEmpty()) {
+            resultMap.put("status", "error");
+            resultMap.put("adminId", adminId);
+            resultMap.put("message", "Missing required fields");
+            return null;
+        }
+
+        Admin admin = new Admin();
+        admin.setAdminId(adminId);
+        admin.setName(name);
+        admin.setRank(rank);
+        admin.setAreaOfWorking(areaOfWorking);
+        admin.setPasswordChanged(false);
+        admin.setFirstLogin(true);
+        admin.setIsActive(true);
+
+        return new AdminImportRow(admin, resultMap);
+    }
+
+    private void flushImport(List<AdminImportRow> pending, List<Map<String, String>> results,
+                             AdminImportOptions options, Consumer<Map<String, String>> sink) {
+        if (!pending.isEmpty()) {
+            try {
+                if (options.upsert()) {
+                    adminImportWriter.upsert(pending, DEFAULT_PASSWORD, options.deactivateMissing());
+                } else {
+                    adminImportWriter.write(pending, DEFAULT_PASSWORD);
+                }
+            } catch (Exception e) {
+                // The whole commit interval was rolled back, so none of its rows were saved
+                for (AdminImportRow row : pending) {
+                    row.getResult().clear();
+                    row.getResult().put("status", "error");
+                    row.getResult().put("adminId", row.getAdmin().getAdminId());
+                    row.getResult().put("message", "Error processing row: " + e.getMessage());
                 }
-                
-                results.add(resultMap);
             }
         }
-        
-        return results;
+
+        portalMetrics.recordImportRows(PortalMetrics.ImportType.ADMIN, results);
+        results.forEach(sink);
+        results.clear();
+        pending.clear();
     }
     
     public Map<String, Object> changePassword(String adminId, String oldPassword, String newPassword) {
@@ -110,7 +232,7 @@ public class AdminService {
         }
         
         // Validate new password
-        if (!isValidPassword(newPassword)) {
+        if (!PasswordPolicy.isValid(newPassword)) {
             response.put("status", "error");
             response.put("message", "New password does not meet requirements (min 8 chars, mixed case, number, special char)");
             return response;
@@ -140,7 +262,7 @@ public class AdminService {
         Admin admin = adminOpt.get();
         
         // Validate new password
-        if (!isValidPassword(newPassword)) {
+        if (!PasswordPolicy.isValid(newPassword)) {
             response.put("status", "error");
             response.put("message", "Password does not meet requirements (min 8 chars, mixed case, number, special char)");
             return response;
@@ -157,40 +279,152 @@ public class AdminService {
         return response;
     }
     
+    public Map<String, Object> resetAdminPasswords(Collection<String> adminIds, String temporaryPassword) {
+        Map<String, Object> response = new HashMap<>();
+        String password = temporaryPassword == null || temporaryPassword.isEmpty() ? DEFAULT_PASSWORD : temporaryPassword;
+
+        if (!PasswordPolicy.isValid(password)) {
+            response.put("status", "error");
+            response.put("message", "Temporary password does not meet requirements (min 8 chars, mixed case, number, special char)");
+            return response;
+        }
+
+        // Hash every admin's password in parallel; each admin still gets its own salt
+        Map<String, CompletableFuture<String>> hashes = new LinkedHashMap<>();
+        for (String adminId : new LinkedHashSet<>(adminIds)) {
+            hashes.put(adminId, passwordHashingService.encode(password));
+        }
+
+        List<Map<String, String>> results = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        hashes.forEach((adminId, hash) -> {
+            Map<String, String> resultMap = new HashMap<>();
+            resultMap.put("adminId", adminId);
+
+            try {
+                if (adminRepository.resetPassword(adminId, hash.join(), now) == 0) {
+                    resultMap.put("status", "error");
+                    resultMap.put("message", "Admin not found");
+                } else {
+                    resultMap.put("status", "success");
+                    resultMap.put("message", "Password reset, change required at next login");
+                }
+            } catch (Exception e) {
+                resultMap.put("status", "error");
+                resultMap.put("message", "Error resetting password: " + e.getMessage());
+            }
+
+            results.add(resultMap);
+        });
+
+        response.put("status", "success");
+        response.put("message", "Password reset processed");
+        response.put("results", results);
+        return response;
+    }
+    
+    /**
+     * Removes admins with set-based statements; no Admin entity or user row is loaded. Soft:
+     * one UPDATE on admins marks them inactive, so they can no longer log in and their users are
+     * kept. Hard: one DELETE on users and one on admins, per chunk of ids, all in one transaction.
+     * The super admin is never removed. Tokens already issued to removed admins stop working.
+     */
+    @Transactional
+    public Map<String, Object> removeAdmins(Collection<String> adminIds, boolean hard) {
+        List<String> requested = new ArrayList<>(new LinkedHashSet<>(adminIds));
+        List<Map<String, String>> results = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        int removed = 0;
+        int usersDeleted = 0;
+
+        for (int from = 0; from < requested.size(); from += chunkSize) {
+            List<String> chunk = requested.subList(from, Math.min(from + chunkSize, requested.size()));
+            Map<String, AdminStatus> found = new HashMap<>();
+            for (AdminStatus status : adminRepository.findStatuses(chunk)) {
+                found.put(status.adminId(), status);
+            }
+
+            List<AdminStatus> targets = new ArrayList<>();
+            for (String adminId : chunk) {
+                AdminStatus status = found.get(adminId);
+                if (SUPER_ADMIN_ID.equals(adminId)) {
+                    results.add(removalResult(adminId, "error", "The super admin cannot be removed"));
+                } else if (status == null) {
+                    results.add(removalResult(adminId, "error", "Admin not found"));
+                } else if (!hard && !status.isActive()) {
+                    results.add(removalResult(adminId, "unchanged", "Admin already inactive"));
+                } else {
+                    targets.add(status);
+                }
+            }
+            if (targets.isEmpty()) {
+                continue;
+            }
+            tokenService.revokeAll(targets.stream().map(AdminStatus::adminId).toList());
+
+            if (hard) {
+                List<Long> adminPks = targets.stream().map(AdminStatus::id).toList();
+                usersDeleted += userRepository.deleteByAdminPks(adminPks);
+                adminRepository.deleteByPks(adminPks);
+                for (AdminStatus target : targets) {
+                    // Set-based deletes bypass the entity listeners; all three apply after the commit
+                    userSearchIndex.adminRemoved(target.id());
+                    userAggregateService.adminRemoved(target.id());
+                    userListVersions.bump(target.adminId());
+                    results.add(removalResult(target.adminId(), "deleted", "Admin and its users deleted"));
+                }
+            } else {
+                adminRepository.deactivate(targets.stream().map(AdminStatus::adminId).toList(), now);
+                for (AdminStatus target : targets) {
+                    results.add(removalResult(target.adminId(), "deactivated", "Admin deactivated, users kept"));
+                }
+            }
+            removed += targets.size();
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("status", "success");
+        response.put("message", hard ? "Admins deleted" : "Admins deactivated");
+        response.put("mode", hard ? "hard" : "soft");
+        response.put("removed", removed);
+        response.put("usersDeleted", usersDeleted);
+        response.put("results", results);
+        return response;
+    }
+
+    private static Map<String, String> removalResult(String adminId, String status, String message) {
+        Map<String, String> resultMap = new HashMap<>();
+        resultMap.put("adminId", adminId);
+        resultMap.put("status", status);
+        resultMap.put("message", message);
+        return resultMap;
+    }
+
+    // Read-only lookups below may be served by the read replica (see ReadReplicaConfig)
+    @Transactional(readOnly = true)
     public boolean hasChangedPassword(String adminId) {
         Optional<Admin> adminOpt = adminRepository.findByAdminId(adminId);
         return adminOpt.map(Admin::getPasswordChanged).orElse(false);
     }
     
+    @Transactional(readOnly = true)
     public boolean isFirstLogin(String adminId) {
         Optional<Admin> adminOpt = adminRepository.findByAdminId(adminId);
         return adminOpt.map(Admin::getFirstLogin).orElse(false);
     }
     
+    @Transactional(readOnly = true)
     public Optional<Admin> findByAdminId(String adminId) {
         return adminRepository.findByAdminId(adminId);
     }
     
+    @Transactional(readOnly = true)
     public Optional<Admin> findByName(String name) {
         return adminRepository.findByName(name);
     }
     
     // Helper methods
-    private String getCellValue(Cell cell) {
-        if (cell == null) return "";
-        
-        switch (cell.getCellType()) {
-            case STRING:
-                return cell.getStringCellValue().trim();
-            case NUMERIC:
-                return String.valueOf((long) cell.getNumericCellValue());
-            case BOOLEAN:
-                return String.valueOf(cell.getBooleanCellValue());
-            default:
-                return "";
-        }
-    }
-    
     private String encodePassword(String password) {
         return passwordEncoder.encode(password);
     }
@@ -198,21 +432,13 @@ public class AdminService {
     public boolean verifyPassword(String rawPassword, String encodedPassword) {
         return passwordEncoder.matches(rawPassword, encodedPassword);
     }
+
+    // Login path: runs on the bounded verification pool and may be shed under load
+    public CompletableFuture<Boolean> verifyLoginPassword(String rawPassword, String encodedPassword) {
+        return passwordHashingService.verifyLogin(rawPassword, encodedPassword);
+    }
     
     private boolean matchPassword(String rawPassword, String encodedPassword) {
         return passwordEncoder.matches(rawPassword, encodedPassword);
     }
-    
-    private boolean isValidPassword(String password) {
-        if (password == null || password.length() < 8) {
-            return false;
-        }
-        
-        boolean hasUpper = password.matches(".*[A-Z].*");
-        boolean hasLower = password.matches(".*[a-z].*");
-        boolean hasDigit = password.matches(".*\\d.*");
-        boolean hasSpecial = password.matches(".*[!@#$%^&*()_+\\-=\\[\\]{};':\"\\\\|,.<>/?].*");
-        
-        return hasUpper && hasLower && hasDigit && hasSpecial;
-    }
 }
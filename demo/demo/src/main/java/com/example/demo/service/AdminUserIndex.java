@@ -0,0 +1,433 @@
+package com.example.demo.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Typeahead index over one admin's users, part of {@link UserSearchIndex}.
+ *
+ * Users live in slots of parallel primitive arrays, found by id through a {@link LongIntHashMap}.
+ * Rank and area values repeat a lot, so each is stored once and slots hold an int code. Username
+ * prefixes are answered from slot numbers sorted case-insensitively by username: a binary search
+ * finds the first match and the matches follow in order. New users go to a small unsorted buffer
+ * that is merged into the sorted run once it fills up, so an insert never shifts the whole run.
+ * Removed slots stay in the sorted run (their username keeps the order valid) and are skipped
+ * until the next merge reclaims them.
+ *
+ * Searches share a read lock; changes take the write lock.
+ */
+public final class AdminUserIndex {
+
+    private static final int RECENT_LIMIT = 1024;
+    private static final Comparator<String> ORDER = String.CASE_INSENSITIVE_ORDER;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Slot storage; ids[slot] == 0 marks a removed slot
+    private long[] ids;
+    private String[] usernames;
+    private int[] ranks;
+    private int[] areas;
+    private int slotCount;
+    private final LongIntHashMap slotById;
+
+    // Removed slots waiting for the next merge, and slots free for reuse after it
+    private int[] deadSlots = new int[16];
+    private int deadCount;
+    private int[] freeSlots = new int[16];
+    private int freeCount;
+
+    private int[] sorted;
+    private int sortedCount;
+    private final int[] recent = new int[RECENT_LIMIT];
+    private int recentCount;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private String[] values = new String[16];
+
+    public AdminUserIndex(int expectedUsers) {
+        int capacity = Math.max(16, expectedUsers);
+        ids = new long[capacity];
+        usernames = new String[capacity];
+        ranks = new int[capacity];
+        areas = new int[capacity];
+        sorted = new int[capacity];
+        slotById = new LongIntHashMap(capacity);
+    }
+
+    /** Bulk loading before the index is shared: appends without sorting, see {@link #finishLoad()}. */
+    public void load(long id, String username, String rank, String areaOfWorking) {
+        int slot = allocate(id, username, rank, areaOfWorking);
+        if (sortedCount == sorted.length) {
+            sorted = Arrays.copyOf(sorted, grow(sorted.length));
+        }
+        sorted[sortedCount++] = slot;
+    }
+
+    public void finishLoad() {
+        sortSlots(sorted, sortedCount);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Adds the user, or updates it in place. */
+    public void put(long id, String username, String rank, String areaOfWorking) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotById.get(id);
+            if (slot >= 0) {
+                if (usernames[slot].equals(username)) {
+                    ranks[slot] = code(rank);
+                    areas[slot] = code(areaOfWorking);
+                    return;
+                }
+                // A new username means a new position in the order: retire the slot, add a new one
+                kill(slot);
+            }
+            insert(allocate(id, username, rank, areaOfWorking));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotById.get(id);
+            if (slot >= 0) {
+                kill(slot);
+                mergeIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeByUsername(String username) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(username);
+            if (slot >= 0) {
+                kill(slot);
+                mergeIfNeeded();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void rename(String username, String newUsername) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(username);
+            if (slot >= 0) {
+                long id = ids[slot];
+                String rank = values[ranks[slot]];
+                String areaOfWorking = values[areas[slot]];
+                kill(slot);
+                insert(allocate(id, newUsername, rank, areaOfWorking));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void updateRankAndArea(String username, String rank, String areaOfWorking) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(username);
+            if (slot >= 0) {
+                ranks[slot] = code(rank);
+                areas[slot] = code(areaOfWorking);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Up to {@code max} users whose username starts with {@code prefix} (in username order),
+     * followed by users whose rank or area has a word starting with it. Case-insensitive.
+     */
+    public List<UserSearchHit> search(String prefix, int max) {
+        lock.readLock().lock();
+        try {
+            List<UserSearchHit> hits = new ArrayList<>(Math.min(max, 64));
+
+            // Username matches from the sorted run and the buffer, merged in order
+            int[] fromSorted = new int[Math.min(max, sortedCount)];
+            int sortedMatches = 0;
+            for (int i = lowerBound(prefix); i < sortedCount && sortedMatches < max; i++) {
+                int slot = sorted[i];
+                if (!startsWith(usernames[slot], prefix)) {
+                    break;
+                }
+                if (ids[slot] != 0) {
+                    fromSorted[sortedMatches++] = slot;
+                }
+            }
+            int[] fromRecent = new int[recentCount];
+            int recentMatches = 0;
+            for (int i = 0; i < recentCount; i++) {
+                int slot = recent[i];
+                if (ids[slot] != 0 && startsWith(usernames[slot], prefix)) {
+                    fromRecent[recentMatches++] = slot;
+                }
+            }
+            sortSlots(fromRecent, recentMatches);
+
+            int a = 0;
+            int b = 0;
+            while (hits.size() < max && (a < sortedMatches || b < recentMatches)) {
+                boolean takeSorted = b == recentMatches
+                        || (a < sortedMatches && ORDER.compare(usernames[fromSorted[a]], usernames[fromRecent[b]]) <= 0);
+                hits.add(hit(takeSorted ? fromSorted[a++] : fromRecent[b++]));
+            }
+
+            if (hits.size() < max) {
+                addRankAndAreaMatches(prefix, max, hits);
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void addRankAndAreaMatches(String prefix, int max, List<UserSearchHit> hits) {
+        boolean[] matching = new boolean[codes.size()];
+        boolean any = false;
+        for (int code = 0; code < matching.length; code++) {
+            matching[code] = hasWordStartingWith(values[code], prefix);
+            any |= matching[code];
+        }
+        if (!any) {
+            return;
+        }
+
+        // A sequential pass over two int arrays; users already listed by username are skipped
+        for (int slot = 0; slot < slotCount && hits.size() < max; slot++) {
+            if (ids[slot] != 0 && (matching[ranks[slot]] || matching[areas[slot]])
+                    && !startsWith(usernames[slot], prefix)) {
+                hits.add(hit(slot));
+            }
+        }
+    }
+
+    private UserSearchHit hit(int slot) {
+        return new UserSearchHit(ids[slot], usernames[slot], values[ranks[slot]], values[areas[slot]]);
+    }
+
+    private int allocate(long id, String username, String rank, String areaOfWorking) {
+        int slot;
+        if (freeCount > 0) {
+            slot = freeSlots[--freeCount];
+        } else {
+            if (slotCount == ids.length) {
+                int capacity = grow(ids.length);
+                ids = Arrays.copyOf(ids, capacity);
+                usernames = Arrays.copyOf(usernames, capacity);
+                ranks = Arrays.copyOf(ranks, capacity);
+                areas = Arrays.copyOf(areas, capacity);
+            }
+            slot = slotCount++;
+        }
+        ids[slot] = id;
+        usernames[slot] = username;
+        ranks[slot] = code(rank);
+        areas[slot] = code(areaOfWorking);
+        slotById.put(id, slot);
+        return slot;
+    }
+
+    private void insert(int slot) {
+        recent[recentCount++] = slot;
+        if (recentCount == RECENT_LIMIT) {
+            merge();
+        }
+    }
+
+    private void kill(int slot) {
+        slotById.remove(ids[slot]);
+        ids[slot] = 0;
+        if (deadCount == deadSlots.length) {
+            deadSlots = Arrays.copyOf(deadSlots, grow(deadSlots.length));
+        }
+        deadSlots[deadCount++] = slot;
+    }
+
+    private void mergeIfNeeded() {
+        // Dead slots cost a skip on every search that crosses them; reclaim once they pile up
+        if (deadCount > Math.max(RECENT_LIMIT, sortedCount / 4)) {
+            merge();
+        }
+    }
+
+    /** Sorts the buffer into the run, dropping dead slots, and frees the dead slots for reuse. */
+    private void merge() {
+        int[] fresh = new int[recentCount];
+        int freshCount = 0;
+        for (int i = 0; i < recentCount; i++) {
+            if (ids[recent[i]] != 0) {
+                fresh[freshCount++] = recent[i];
+            }
+        }
+        sortSlots(fresh, freshCount);
+
+        // Binary-search each new slot's position; the runs between them are copied as they are
+        int[] merged = new int[Math.max(16, sortedCount + freshCount)];
+        int out = 0;
+        int from = 0;
+        for (int f = 0; f < freshCount; f++) {
+            int to = upperBound(usernames[fresh[f]], from);
+            out = copyLive(from, to, merged, out);
+            merged[out++] = fresh[f];
+            from = to;
+        }
+        out = copyLive(from, sortedCount, merged, out);
+
+        sorted = merged;
+        sortedCount = out;
+        recentCount = 0;
+
+        for (int i = 0; i < deadCount; i++) {
+            int slot = deadSlots[i];
+            usernames[slot] = null;
+            if (freeCount == freeSlots.length) {
+                freeSlots = Arrays.copyOf(freeSlots, grow(freeSlots.length));
+            }
+            freeSlots[freeCount++] = slot;
+        }
+        deadCount = 0;
+    }
+
+    private int copyLive(int from, int to, int[] target, int out) {
+        if (deadCount == 0) {
+            System.arraycopy(sorted, from, target, out, to - from);
+            return out + to - from;
+        }
+        for (int i = from; i < to; i++) {
+            if (ids[sorted[i]] != 0) {
+                target[out++] = sorted[i];
+            }
+        }
+        return out;
+    }
+
+    /** The live slot with exactly this username, or -1. */
+    private int slotOf(String username) {
+        for (int i = lowerBound(username); i < sortedCount && ORDER.compare(usernames[sorted[i]], username) == 0; i++) {
+            int slot = sorted[i];
+            if (ids[slot] != 0 && usernames[slot].equals(username)) {
+                return slot;
+            }
+        }
+        for (int i = 0; i < recentCount; i++) {
+            int slot = recent[i];
+            if (ids[slot] != 0 && usernames[slot].equals(username)) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    // First position in the sorted run whose username is not before key
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = sortedCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ORDER.compare(usernames[sorted[mid]], key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    // First position at or after from whose username is after key
+    private int upperBound(String key, int from) {
+        int low = from;
+        int high = sortedCount;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (ORDER.compare(usernames[sorted[mid]], key) <= 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /** Bottom-up merge sort of slot numbers by username, without boxing them. */
+    private void sortSlots(int[] slots, int count) {
+        int[] source = slots;
+        int[] target = new int[count];
+        for (int width = 1; width < count; width <<= 1) {
+            for (int low = 0; low < count; low += width << 1) {
+                int mid = Math.min(low + width, count);
+                int high = Math.min(low + (width << 1), count);
+                int a = low;
+                int b = mid;
+                for (int out = low; out < high; out++) {
+                    if (b >= high || (a < mid && ORDER.compare(usernames[source[a]], usernames[source[b]]) <= 0)) {
+                        target[out] = source[a++];
+                    } else {
+                        target[out] = source[b++];
+                    }
+                }
+            }
+            int[] swap = source;
+            source = target;
+            target = swap;
+        }
+        if (source != slots) {
+            System.arraycopy(source, 0, slots, 0, count);
+        }
+    }
+
+    private int code(String value) {
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = codes.size();
+            if (code == values.length) {
+                values = Arrays.copyOf(values, grow(values.length));
+            }
+            values[code] = value;
+            codes.put(value, code);
+        }
+        return code;
+    }
+
+    private static boolean startsWith(String value, String prefix) {
+        return value.regionMatches(true, 0, prefix, 0, prefix.length());
+    }
+
+    // "insp" matches "Inspector", "zone" matches "North Zone"
+    private static boolean hasWordStartingWith(String value, String prefix) {
+        for (int i = 0; i + prefix.length() <= value.length(); i++) {
+            if ((i == 0 || !Character.isLetterOrDigit(value.charAt(i - 1)))
+                    && value.regionMatches(true, i, prefix, 0, prefix.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int grow(int length) {
+        return length + Math.max(16, length >> 1);
+    }
+}
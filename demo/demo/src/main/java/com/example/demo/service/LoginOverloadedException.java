@@ -0,0 +1,12 @@
+package com.example.demo.service;
+
+/**
+ * Thrown when a login cannot be verified because the verification pool is saturated,
+ * either because its queue is full or because the request waited past its deadline.
+ */
+public class LoginOverloadedException extends RuntimeException {
+
+    public LoginOverloadedException(String message) {
+        super(message);
+    }
+}
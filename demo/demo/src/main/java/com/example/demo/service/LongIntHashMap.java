@@ -0,0 +1,116 @@
+package com.example.demo.service;
+
+/**
+ * Open-addressing long to int map without boxing: two parallel arrays and linear probing, about
+ * 16 bytes per entry instead of the ~80 of a HashMap<Long, Integer>. Key 0 marks an empty slot,
+ * which is safe for sequence-generated ids. Not thread-safe.
+ */
+final class LongIntHashMap {
+
+    private static final long EMPTY = 0L;
+    private static final int MISSING = -1;
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int resizeAt;
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, (int) (expectedSize / 0.75f)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** The value for {@code key}, or -1. */
+    int get(long key) {
+        int mask = keys.length - 1;
+        for (int i = index(key, mask); ; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+            if (keys[i] == EMPTY) {
+                return MISSING;
+            }
+        }
+    }
+
+    void put(long key, int value) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Key 0 is reserved");
+        }
+        int mask = keys.length - 1;
+        int i = index(key, mask);
+        while (keys[i] != EMPTY && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (keys[i] == EMPTY) {
+            keys[i] = key;
+            if (++size > resizeAt) {
+                values[i] = value;
+                rehash(keys.length << 1);
+                return;
+            }
+        }
+        values[i] = value;
+    }
+
+    /** Removes {@code key}; returns its value, or -1. */
+    int remove(long key) {
+        int mask = keys.length - 1;
+        int i = index(key, mask);
+        while (keys[i] != key) {
+            if (keys[i] == EMPTY) {
+                return MISSING;
+            }
+            i = (i + 1) & mask;
+        }
+        int removed = values[i];
+        size--;
+
+        // Backward-shift deletion: move later entries of the probe run into the gap, no tombstones
+        int gap = i;
+        for (int j = (gap + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+            int home = index(keys[j], mask);
+            // Entry j may fill the gap unless its home lies cyclically in (gap, j]
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys[gap] = EMPTY;
+        return removed;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int j = index(oldKeys[i], mask);
+                while (keys[j] != EMPTY) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        resizeAt = (int) (capacity * 0.75f);
+    }
+
+    private static int index(long key, int mask) {
+        // Sequence ids are consecutive; mix the bits so they do not cluster in one probe run
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.demo.service;
+
+import com.example.demo.service.PortalMetrics.HashOperation;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs BCrypt hashing off the request thread on a bounded, core-sized pool so bulk work
+ * (imports, password resets) can use every core.
+ */
+@Service
+public class PasswordHashingService {
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    @Qualifier("passwordHashingExecutor")
+    private ThreadPoolTaskExecutor executor;
+
+    @Autowired
+    @Qualifier("loginVerificationExecutor")
+    private ThreadPoolTaskExecutor loginExecutor;
+
+    @Autowired
+    private PortalMetrics portalMetrics;
+
+    @Value("${app.auth.login.queue-deadline-ms:2000}")
+    private long loginQueueDeadlineMs;
+
+    // Each pool's own work, so login traffic does not blur the bulk hashing figures or the reverse
+    private final HashLatency hashing = new HashLatency();
+    private final HashLatency logins = new HashLatency();
+    private final LongAdder loginsShed = new LongAdder();
+
+    public CompletableFuture<String> encode(String rawPassword) {
+        return CompletableFuture.supplyAsync(timed(HashOperation.ENCODE, hashing, () -> passwordEncoder.encode(rawPassword)), executor);
+    }
+
+    /**
+     * Verifies a login password on the bounded login pool. Completes exceptionally with
+     * {@link LoginOverloadedException} if the queue is full or the check could not start
+     * before the queue deadline, so callers can shed load instead of piling up.
+     */
+    public CompletableFuture<Boolean> verifyLogin(String rawPassword, String encodedPassword) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(loginQueueDeadlineMs);
+        Supplier<Boolean> check = timed(HashOperation.LOGIN, logins, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+
+        try {
+            loginExecutor.execute(() -> {
+                if (System.nanoTime() - deadline > 0) {
+                    loginsShed.increment();
+                    future.completeExceptionally(new LoginOverloadedException("Login queue deadline exceeded"));
+                    return;
+                }
+                try {
+                    future.complete(check.get());
+                } catch (RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            loginsShed.increment();
+            future.completeExceptionally(new LoginOverloadedException("Login queue is full"));
+        }
+
+        return future;
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("poolSize", executor.getPoolSize());
+        stats.put("activeThreads", executor.getActiveCount());
+        stats.put("queueDepth", executor.getQueueSize());
+        stats.put("completed", hashing.count());
+        stats.put("averageLatencyMs", hashing.averageMillis());
+        stats.put("maxLatencyMs", hashing.maxMillis());
+        stats.put("loginPoolSize", loginExecutor.getPoolSize());
+        stats.put("loginActiveThreads", loginExecutor.getActiveCount());
+        stats.put("loginQueueDepth", loginExecutor.getQueueSize());
+        stats.put("loginsCompleted", logins.count());
+        stats.put("loginAverageLatencyMs", logins.averageMillis());
+        stats.put("loginMaxLatencyMs", logins.maxMillis());
+        stats.put("loginsShed", loginsShed.sum());
+        return stats;
+    }
+
+    private <T> Supplier<T> timed(HashOperation operation, HashLatency latency, Supplier<T> hash) {
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                return hash.get();
+            } finally {
+                long elapsed = System.nanoTime() - start;
+                latency.record(elapsed);
+                portalMetrics.recordHash(operation, elapsed);
+            }
+        };
+    }
+
+    private static class HashLatency {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long elapsed) {
+            count.increment();
+            nanos.add(elapsed);
+            maxNanos.accumulateAndGet(elapsed, Math::max);
+        }
+
+        long count() {
+            return count.sum();
+        }
+
+        long averageMillis() {
+            long n = count.sum();
+            return n == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(nanos.sum() / n);
+        }
+
+        long maxMillis() {
+            return TimeUnit.NANOSECONDS.toMillis(maxNanos.get());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.demo.service;
+
+/**
+ * Rules every admin password must meet: at least 8 characters with an upper case letter,
+ * a lower case letter, a digit and a special character.
+ */
+public final class PasswordPolicy {
+
+    private PasswordPolicy() {
+    }
+
+    public static boolean isValid(String password) {
+        if (password == null || password.length() < 8) {
+            return false;
+        }
+
+        boolean hasUpper = password.matches(".*[A-Z].*");
+        boolean hasLower = password.matches(".*[a-z].*");
+        boolean hasDigit = password.matches(".*\\d.*");
+        boolean hasSpecial = password.matches(".*[!@#$%^&*()_+\\-=\\[\\]{};':\"\\\\|,.<>/?].*");
+
+        return hasUpper && hasLower && hasDigit && hasSpecial;
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.demo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Application meters, exported at /actuator/prometheus. Every tag value is a fixed enum or
+ * status, never a username or id, so the number of series stays constant. All meters are
+ * registered up front, so the hot paths never look meters up in the registry.
+ */
+@Component
+public class PortalMetrics {
+
+    public enum LoginOutcome { SUCCESS, INVALID_REQUEST, RATE_LIMITED, INVALID_CREDENTIALS, INACTIVE, OVERLOADED, ERROR }
+
+    public enum HashOperation { ENCODE, LOGIN }
+
+    public enum ImportType { ADMIN, USER }
+
+    // updated / unchanged / deactivated only come from upsert admin imports
+    private static final List<String> ROW_STATUSES =
+            List.of("success", "updated", "unchanged", "skipped", "deactivated", "error");
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final Map<LoginOutcome, Timer> loginTimers = new EnumMap<>(LoginOutcome.class);
+    private final Map<HashOperation, Timer> hashTimers = new EnumMap<>(HashOperation.class);
+    private final Map<ImportType, Map<String, Counter>> importRowCounters = new EnumMap<>(ImportType.class);
+
+    @PostConstruct
+    void register() {
+        for (LoginOutcome outcome : LoginOutcome.values()) {
+            loginTimers.put(outcome, Timer.builder("portal.login")
+                    .description("Login requests, from arrival to response, by outcome")
+                    .tag("outcome", tagValue(outcome))
+                    .register(meterRegistry));
+        }
+        for (HashOperation operation : HashOperation.values()) {
+            hashTimers.put(operation, Timer.builder("portal.password.hash")
+                    .description("BCrypt work on the hashing pools, excluding queue wait")
+                    .tag("operation", tagValue(operation))
+                    .register(meterRegistry));
+        }
+        for (ImportType type : ImportType.values()) {
+            Map<String, Counter> counters = new HashMap<>();
+            for (String status : ROW_STATUSES) {
+                counters.put(status, Counter.builder("portal.import.rows")
+                        .description("Imported rows by result; rate() gives rows per second")
+                        .tag("type", tagValue(type))
+                        .tag("status", status)
+                        .register(meterRegistry));
+            }
+            importRowCounters.put(type, counters);
+        }
+    }
+
+    public Timer.Sample startLogin() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stopLogin(Timer.Sample sample, LoginOutcome outcome) {
+        sample.stop(loginTimers.get(outcome));
+    }
+
+    public void recordHash(HashOperation operation, long nanos) {
+        hashTimers.get(operation).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordImportRows(ImportType type, List<Map<String, String>> results) {
+        Map<String, Counter> counters = importRowCounters.get(type);
+        for (Map<String, String> result : results) {
+            // Any other status is reported as an error row
+            counters.getOrDefault(result.get("status"), counters.get("error")).increment();
+        }
+    }
+
+    private static String tagValue(Enum<?> value) {
+        return value.name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.demo.service;
+
+import com.example.demo.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Keeps {@link UserAggregateService} in step with entity inserts and removes of {@link User}.
+ * Rank and area are only changed by UserService's single-statement edit, which reports the old
+ * and new values itself; the periodic reconcile catches anything else.
+ */
+public class UserAggregateListener {
+
+    @Autowired
+    private UserAggregateService userAggregateService;
+
+    @PostPersist
+    public void added(User user) {
+        // getId() on the lazy admin proxy does not load the admin
+        userAggregateService.userAdded(user.getAdmin().getId(), user.getRank(), user.getAreaOfWorking());
+    }
+
+    @PostRemove
+    public void removed(User user) {
+        userAggregateService.userRemoved(user.getAdmin().getId(), user.getRank(), user.getAreaOfWorking());
+    }
+}
@@ -0,0 +1,292 @@
+package com.example.demo.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Number of users by rank and by area of working for each admin (keyed by the admin's primary
+ * key), for dashboards. Built with one GROUP BY once the application is ready and kept current by
+ * the user write paths. Changes are applied to LongAdder counters once their transaction commits.
+ * {@link UserAggregateListener} moves the counts for entity writes. UserService's single-statement
+ * delete and rank/area edit do not know the old rank and area, so they only mark the admin stale;
+ * the next {@link #summary} recounts that admin with one keyed GROUP BY.
+ *
+ * {@link #reconcile()} recounts from the database every 10 minutes and corrects any drift, e.g.
+ * from rows written behind the application's back. An admin with a change in flight during the
+ * recount is left alone until the next run: the recount may or may not have seen that change.
+ * If the initial load failed, the scheduled run retries it instead.
+ */
+@Service
+public class UserAggregateService {
+
+    private static final Logger log = LoggerFactory.getLogger(UserAggregateService.class);
+
+    private static final String COUNT_SQL =
+            "SELECT admin_id, rank, area_of_working, COUNT(*) FROM users GROUP BY admin_id, rank, area_of_working";
+
+    private static final String ADMIN_COUNT_SQL =
+            "SELECT rank, area_of_working, COUNT(*) FROM users WHERE admin_id = ? GROUP BY rank, area_of_working";
+
+    private static final int LOAD_ATTEMPTS = 5;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final ConcurrentMap<Long, AdminCounts> admins = new ConcurrentHashMap<>();
+
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread thread = new Thread(this::load, "user-aggregates");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** Total, by rank and by area of working; each breakdown largest first. */
+    public Map<String, Object> summary(long adminPk) {
+        AdminCounts counts = admins.get(adminPk);
+        if (counts != null && counts.stale) {
+            recount(adminPk, counts);
+        }
+        Map<String, Long> byRank = counts == null ? Map.of() : sorted(counts.byRank);
+        Map<String, Long> byArea = counts == null ? Map.of() : sorted(counts.byArea);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("total", byRank.values().stream().mapToLong(Long::longValue).sum());
+        summary.put("byRank", byRank);
+        summary.put("byArea", byArea);
+        return summary;
+    }
+
+    public void userAdded(long adminPk, String rank, String areaOfWorking) {
+        record(adminPk, counts -> counts.add(rank, areaOfWorking, 1));
+    }
+
+    public void userRemoved(long adminPk, String rank, String areaOfWorking) {
+        record(adminPk, counts -> counts.add(rank, areaOfWorking, -1));
+    }
+
+    /** A user was removed or got a new rank or area without its old values being read. */
+    public void userChanged(long adminPk) {
+        record(adminPk, counts -> counts.stale = true);
+    }
+
+    /** The admin and all its users were deleted with set-based statements. */
+    public void adminRemoved(long adminPk) {
+        record(adminPk, AdminCounts::clear);
+    }
+
+    @Scheduled(fixedDelay = 10, initialDelay = 10, timeUnit = TimeUnit.MINUTES)
+    public void reconcileRegularly() {
+        if (ready) {
+            reconcile();
+        } else {
+            load();
+        }
+    }
+
+    /**
+     * Recounts every admin from the database and overwrites counters that differ. Returns the
+     * number of admins skipped because a change was in flight.
+     */
+    int reconcile() {
+        Map<Long, Long> versionsBefore = new HashMap<>();
+        admins.forEach((adminPk, counts) -> versionsBefore.put(adminPk, counts.version.get()));
+
+        // Plain JDBC outside a read-only transaction, so this reads the primary, never a lagging replica
+        Map<Long, Counted> counted = new HashMap<>();
+        jdbcTemplate.query(COUNT_SQL, (RowCallbackHandler) rs -> {
+            Counted admin = counted.computeIfAbsent(rs.getLong(1), adminPk -> new Counted());
+            admin.byRank.merge(rs.getString(2), rs.getLong(4), Long::sum);
+            admin.byArea.merge(rs.getString(3), rs.getLong(4), Long::sum);
+        });
+
+        Set<Long> adminPks = new HashSet<>(counted.keySet());
+        adminPks.addAll(admins.keySet());
+        int skipped = 0;
+        for (long adminPk : adminPks) {
+            AdminCounts counts = admin(adminPk);
+            Counted actual = counted.getOrDefault(adminPk, new Counted());
+            counts.lock.writeLock().lock();
+            try {
+                // Nothing in flight and nothing applied since the recount began: both saw the same changes
+                if (counts.pending.get() > 0 || counts.version.get() != versionsBefore.getOrDefault(adminPk, 0L)) {
+                    skipped++;
+                } else {
+                    if (counts.differsFrom(actual)) {
+                        if (ready && !counts.stale) {
+                            log.warn("User counts of admin {} drifted from the database; corrected", adminPk);
+                        }
+                        counts.reset(actual);
+                    }
+                    counts.stale = false;
+                }
+            } finally {
+                counts.lock.writeLock().unlock();
+            }
+        }
+        return skipped;
+    }
+
+    // Same rule as reconcile(), for one admin. While changes keep landing the admin stays stale and
+    // the counters are served as they are; the next summary or reconcile tries again.
+    private void recount(long adminPk, AdminCounts counts) {
+        for (int attempt = 0; attempt < LOAD_ATTEMPTS && counts.stale; attempt++) {
+            long versionBefore = counts.version.get();
+            Counted actual = new Counted();
+            jdbcTemplate.query(ADMIN_COUNT_SQL, (RowCallbackHandler) rs -> {
+                actual.byRank.merge(rs.getString(1), rs.getLong(3), Long::sum);
+                actual.byArea.merge(rs.getString(2), rs.getLong(3), Long::sum);
+            }, adminPk);
+
+            counts.lock.writeLock().lock();
+            try {
+                if (counts.pending.get() == 0 && counts.version.get() == versionBefore) {
+                    counts.reset(actual);
+                    counts.stale = false;
+                }
+            } finally {
+                counts.lock.writeLock().unlock();
+            }
+        }
+    }
+
+    void load() {
+        try {
+            int skipped = reconcile();
+            for (int attempt = 1; skipped > 0 && attempt < LOAD_ATTEMPTS; attempt++) {
+                skipped = reconcile();
+            }
+            ready = true;
+            log.info("User aggregates loaded ({} admins, {} busy ones left to the next reconcile)", admins.size(), skipped);
+        } catch (RuntimeException e) {
+            log.warn("User aggregates could not be loaded; the next scheduled reconcile retries", e);
+        }
+    }
+
+    private AdminCounts admin(long adminPk) {
+        return admins.computeIfAbsent(adminPk, key -> new AdminCounts());
+    }
+
+    // Pending from now, before the row is committed, until the transaction completes. Every write
+    // path runs in a transaction; without one the change is applied at once.
+    private void record(long adminPk, Consumer<AdminCounts> change) {
+        AdminCounts counts = admin(adminPk);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            counts.apply(change);
+            return;
+        }
+        counts.pending.incrementAndGet();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                counts.apply(change);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                counts.pending.decrementAndGet();
+            }
+        });
+    }
+
+    private static Map<String, Long> sorted(Map<String, LongAdder> counters) {
+        Map<String, Long> sorted = new LinkedHashMap<>();
+        counters.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().sum()))
+                .filter(entry -> entry.getValue() != 0)
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+
+    /**
+     * Counters of one admin. Changes update them concurrently under the read lock; a reconcile
+     * overwrites them under the write lock. Groups whose count drops to zero stay in the maps until
+     * the next correction, since removing one could lose a concurrent increment. Stale counters
+     * miss a committed change and are recounted before they are read.
+     */
+    private static final class AdminCounts {
+        private final ConcurrentMap<String, LongAdder> byRank = new ConcurrentHashMap<>();
+        private final ConcurrentMap<String, LongAdder> byArea = new ConcurrentHashMap<>();
+        private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+        private final AtomicInteger pending = new AtomicInteger();
+        private final AtomicLong version = new AtomicLong();
+        private volatile boolean stale;
+
+        void apply(Consumer<AdminCounts> change) {
+            lock.readLock().lock();
+            try {
+                change.accept(this);
+                version.incrementAndGet();
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        void add(String rank, String areaOfWorking, long delta) {
+            byRank.computeIfAbsent(rank, key -> new LongAdder()).add(delta);
+            byArea.computeIfAbsent(areaOfWorking, key -> new LongAdder()).add(delta);
+        }
+
+        void clear() {
+            byRank.clear();
+            byArea.clear();
+        }
+
+        boolean differsFrom(Counted actual) {
+            return !sums(byRank).equals(actual.byRank) || !sums(byArea).equals(actual.byArea);
+        }
+
+        void reset(Counted actual) {
+            clear();
+            actual.byRank.forEach((rank, count) -> byRank.computeIfAbsent(rank, key -> new LongAdder()).add(count));
+            actual.byArea.forEach((area, count) -> byArea.computeIfAbsent(area, key -> new LongAdder()).add(count));
+        }
+
+        private static Map<String, Long> sums(Map<String, LongAdder> counters) {
+            Map<String, Long> sums = new HashMap<>();
+            counters.forEach((key, counter) -> {
+                long sum = counter.sum();
+                if (sum != 0) {
+                    sums.put(key, sum);
+                }
+            });
+            return sums;
+        }
+    }
+
+    /** One admin's counts as read from the database. */
+    private static final class Counted {
+        private final Map<String, Long> byRank = new HashMap<>();
+        private final Map<String, Long> byArea = new HashMap<>();
+    }
+}
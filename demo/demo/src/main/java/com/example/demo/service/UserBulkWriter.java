@@ -0,0 +1,90 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Admin;
+import com.example.demo.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk write path for creating many users of one admin. Same shape as the admin import:
+ * one transaction per call, chunks with a single existence query each, passwords hashed
+ * in parallel and inserts flushed as JDBC batches.
+ */
+@Service
+public class UserBulkWriter {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    @Value("${app.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Transactional
+    public void write(Admin admin, List<UserImportRow> rows) {
+        // Every row points at the same admin; a reference avoids reloading it
+        Admin owner = entityManager.getReference(Admin.class, admin.getId());
+
+        for (int from = 0; from < rows.size(); from += chunkSize) {
+            writeChunk(owner, rows.subList(from, Math.min(from + chunkSize, rows.size())));
+
+            entityManager.flush();
+            entityManager.clear();
+            owner = entityManager.getReference(Admin.class, admin.getId());
+        }
+    }
+
+    private void writeChunk(Admin owner, List<UserImportRow> chunk) {
+        Set<String> usernames = chunk.stream()
+                .map(row -> row.getUser().getUsername())
+                .collect(Collectors.toSet());
+
+        // Usernames already taken under this admin, plus ones seen earlier in this chunk, are skipped
+        Set<String> existing = new HashSet<>(userRepository.findExistingUsernames(owner, usernames));
+
+        List<UserImportRow> created = new ArrayList<>();
+        List<CompletableFuture<String>> hashes = new ArrayList<>();
+
+        for (UserImportRow row : chunk) {
+            String username = row.getUser().getUsername();
+
+            if (!existing.add(username)) {
+                row.getResult().put("status", "skipped");
+                row.getResult().put("username", username);
+                row.getResult().put("message", "Username already exists for this admin");
+                continue;
+            }
+
+            created.add(row);
+            hashes.add(passwordHashingService.encode(row.getRawPassword()));
+        }
+
+        for (int i = 0; i < created.size(); i++) {
+            UserImportRow row = created.get(i);
+
+            row.getUser().setPassword(hashes.get(i).join());
+            row.getUser().setAdmin(owner);
+            entityManager.persist(row.getUser());
+
+            row.getResult().put("status", "success");
+            row.getResult().put("username", row.getUser().getUsername());
+            row.getResult().put("message", "User added successfully");
+        }
+    }
+}
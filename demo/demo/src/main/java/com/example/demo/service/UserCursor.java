@@ -0,0 +1,40 @@
+package com.example.demo.service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of the last row returned by a keyset page. Clients only ever see the encoded form,
+ * an opaque URL-safe string, and pass it back unchanged to fetch the next page.
+ */
+public record UserCursor(Sort sort, long id, String username) {
+
+    public enum Sort { ID, USERNAME }
+
+    /** Start of the listing for the given order (ids are always positive). */
+    public static UserCursor first(Sort sort) {
+        return new UserCursor(sort, 0L, "");
+    }
+
+    public String encode() {
+        String raw = sort == Sort.ID ? "i:" + id : "u:" + id + ":" + username;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static UserCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (raw.startsWith("i:")) {
+                return new UserCursor(Sort.ID, Long.parseLong(raw.substring(2)), "");
+            }
+            if (raw.startsWith("u:")) {
+                int separator = raw.indexOf(':', 2);
+                return new UserCursor(Sort.USERNAME,
+                        Long.parseLong(raw.substring(2, separator)), raw.substring(separator + 1));
+            }
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            // fall through
+        }
+        throw new RuntimeException("Invalid cursor");
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.demo.service;
+
+import com.example.demo.model.Admin;
+import com.example.demo.repository.AdminRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.repository.UserSummary;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Writes all users of an admin straight to an output stream. Rows come from a forward-only
+ * database cursor and are written one at a time (CSV) or through a bounded SXSSF row window
+ * (XLSX), so memory use does not depend on how many users the admin has.
+ */
+@Service
+public class UserExportService {
+
+    public enum Format { CSV, XLSX }
+
+    private static final String[] HEADERS = {"Username", "Rank", "Area of Working", "Created At", "Updated At"};
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    // Rows SXSSF keeps in memory before flushing older ones to its temp file
+    @Value("${app.export.xlsx-row-window:100}")
+    private int xlsxRowWindow;
+
+    public Optional<Admin> findAdmin(String adminId) {
+        return adminRepository.findByAdminId(adminId);
+    }
+
+    // The transaction keeps the cursor open while rows are written; readOnly skips dirty checking
+    @Transactional(readOnly = true)
+    public void export(Admin admin, Format format, OutputStream out) throws IOException {
+        try (Stream<UserSummary> users = userRepository.streamSummariesByAdmin(admin)) {
+            if (format == Format.XLSX) {
+                writeXlsx(users.iterator(), out);
+            } else {
+                writeCsv(users.iterator(), out);
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<UserSummary> users, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writeCsvLine(writer, HEADERS);
+        while (users.hasNext()) {
+            UserSummary user = users.next();
+            writeCsvLine(writer, new String[]{
+                    user.username(), user.rank(), user.areaOfWorking(),
+                    format(user.createdAt()), format(user.updatedAt())
+            });
+        }
+        writer.flush();
+    }
+
+    private void writeXlsx(Iterator<UserSummary> users, OutputStream out) throws IOException {
+        SXSSFWorkbook workbook = new SXSSFWorkbook(xlsxRowWindow);
+        workbook.setCompressTempFiles(true);
+        try {
+            SXSSFSheet sheet = workbook.createSheet("Users");
+            writeXlsxRow(sheet.createRow(0), HEADERS);
+
+            int rowIndex = 1;
+            while (users.hasNext()) {
+                UserSummary user = users.next();
+                writeXlsxRow(sheet.createRow(rowIndex++), new String[]{
+                        user.username(), user.rank(), user.areaOfWorking(),
+                        format(user.createdAt()), format(user.updatedAt())
+                });
+            }
+
+            workbook.write(out);
+            out.flush();
+        } finally {
+            // Deletes the temp file holding the flushed rows
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private static void writeXlsxRow(Row row, String[] values) {
+        for (int i = 0; i < values.length; i++) {
+            row.createCell(i).setCellValue(values[i]);
+        }
+    }
+
+    private static void writeCsvLine(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(escapeCsv(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    static String escapeCsv(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        // Stop spreadsheet apps from evaluating user-supplied text as a formula
+        if ("=+-@".indexOf(value.charAt(0)) >= 0) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+
+    private static String format(LocalDateTime time) {
+        return time == null ? "" : time.withNano(0).toString();
+    }
+}
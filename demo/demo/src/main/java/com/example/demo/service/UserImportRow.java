@@ -0,0 +1,34 @@
+package com.example.demo.service;
+
+import com.example.demo.model.User;
+
+import java.util.Map;
+
+/**
+ * A validated bulk-create item waiting to be written: the user, its plain password (hashed
+ * by the writer) and the result map reported back to the caller.
+ */
+public class UserImportRow {
+
+    private final User user;
+    private final String rawPassword;
+    private final Map<String, String> result;
+
+    public UserImportRow(User user, String rawPassword, Map<String, String> result) {
+        this.user = user;
+        this.rawPassword = rawPassword;
+        this.result = result;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public String getRawPassword() {
+        return rawPassword;
+    }
+
+    public Map<String, String> getResult() {
+        return result;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory version of each admin's user list, bumped by every user mutation in
+ * {@link UserService}. List endpoints turn it into a weak ETag, so a client whose copy is still
+ * current gets a 304 without a database query.
+ *
+ * Versions live in this process only; the epoch (startup time) in every tag makes tags from a
+ * previous run never match. Read the tag before running the list query: a write that lands in
+ * between then changes the version, and the client refetches next time.
+ */
+@Component
+public class UserListVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private final ConcurrentMap<String, Version> versions = new ConcurrentHashMap<>();
+
+    // With a read replica, a list read shortly after a write may still miss it; no tag is handed
+    // out until the version is older than the replica lag, so such a list is never cached as current
+    @Value("${app.users.list-etag.min-age:0s}")
+    private Duration minAge;
+
+    /**
+     * Call after the write. Inside a transaction the bump waits for the commit: bumped earlier, a
+     * list read in between would pair the new tag with the old rows.
+     */
+    public void bump(String adminId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bumpNow(adminId);
+                }
+            });
+        } else {
+            bumpNow(adminId);
+        }
+    }
+
+    private void bumpNow(String adminId) {
+        Version version = versions.computeIfAbsent(adminId, id -> new Version());
+        version.bumpedAt = System.nanoTime();
+        version.count.incrementAndGet();
+    }
+
+    /**
+     * Weak: the same version always has the same content, but not necessarily the same bytes.
+     * Null while the version is younger than app.users.list-etag.min-age.
+     */
+    public String etag(String adminId) {
+        Version version = versions.get(adminId);
+        if (version == null) {
+            return "W/\"" + epoch + "-0\"";
+        }
+        long count = version.count.get();
+        if (System.nanoTime() - version.bumpedAt < minAge.toNanos()) {
+            return null;
+        }
+        return "W/\"" + epoch + "-" + count + "\"";
+    }
+
+    private static final class Version {
+        private final AtomicLong count = new AtomicLong();
+        private volatile long bumpedAt;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.demo.service;
+
+/**
+ * One user in a search response, straight from {@link UserSearchIndex} without a query.
+ */
+public record UserSearchHit(
+        long id,
+        String username,
+        String rank,
+        String areaOfWorking
+) {
+}
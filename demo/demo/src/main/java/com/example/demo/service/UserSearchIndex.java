@@ -0,0 +1,209 @@
+package com.example.demo.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory typeahead index over username, rank and area of working, one {@link AdminUserIndex}
+ * per admin (keyed by the admin's primary key). Loaded from the users table once the application
+ * is ready, on a background thread so startup does not wait for it; searches are refused until
+ * then (see {@link #isReady()}).
+ *
+ * Changes arrive from {@link UserSearchListener} for entity writes and from UserService for its
+ * bulk statements, and are applied once their transaction commits. Changes made while the index
+ * is loading are queued and replayed on top of the loaded rows; every change sets the final
+ * state of one user, so replaying one the load already saw does no harm.
+ *
+ * A failed load is retried with exponential backoff. Its queue is dropped and nothing is queued
+ * until the next attempt starts: that attempt reads every change committed before it.
+ */
+@Component
+public class UserSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(UserSearchIndex.class);
+
+    private static final String LOAD_SQL = "SELECT id, admin_id, username, rank, area_of_working FROM users";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<Long, AdminUserIndex> admins = new ConcurrentHashMap<>();
+
+    // Wait before the first retry of a failed load; doubled after every further failure up to the maximum
+    @Value("${app.users.search-index.retry-delay:1s}")
+    private Duration retryDelay;
+
+    @Value("${app.users.search-index.max-retry-delay:1m}")
+    private Duration maxRetryDelay;
+
+    private final ReentrantLock loadLock = new ReentrantLock();
+    private final List<Runnable> changesDuringLoad = new ArrayList<>();
+    // Guarded by loadLock; true from creation until an attempt fails, and again while a retry runs
+    private boolean queueing = true;
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread thread = new Thread(this::loadUntilReady, "user-search-index");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /** Up to {@code max} matches for a prefix; see {@link AdminUserIndex#search}. */
+    public List<UserSearchHit> search(long adminPk, String prefix, int max) {
+        AdminUserIndex index = admins.get(adminPk);
+        return index == null ? Collections.emptyList() : index.search(prefix, max);
+    }
+
+    public void userSaved(long adminPk, long userId, String username, String rank, String areaOfWorking) {
+        afterCommit(() -> admin(adminPk).put(userId, username, rank, areaOfWorking));
+    }
+
+    public void userRemoved(long adminPk, long userId) {
+        afterCommit(() -> admin(adminPk).remove(userId));
+    }
+
+    public void userRemoved(long adminPk, String username) {
+        afterCommit(() -> admin(adminPk).removeByUsername(username));
+    }
+
+    public void usernameChanged(long adminPk, String username, String newUsername) {
+        afterCommit(() -> admin(adminPk).rename(username, newUsername));
+    }
+
+    public void rankAndAreaChanged(long adminPk, String username, String rank, String areaOfWorking) {
+        afterCommit(() -> admin(adminPk).updateRankAndArea(username, rank, areaOfWorking));
+    }
+
+    /** The admin and all its users were deleted with set-based statements. */
+    public void adminRemoved(long adminPk) {
+        afterCommit(() -> admins.remove(adminPk));
+    }
+
+    void loadUntilReady() {
+        Duration delay = retryDelay;
+        while (!load()) {
+            log.info("Retrying the user search index load in {}", delay);
+            try {
+                Thread.sleep(delay.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            Duration doubled = delay.multipliedBy(2);
+            delay = doubled.compareTo(maxRetryDelay) > 0 ? maxRetryDelay : doubled;
+        }
+    }
+
+    /** One load attempt; false if it failed, in which case the changes queued for it are dropped. */
+    boolean load() {
+        loadLock.lock();
+        try {
+            queueing = true;
+        } finally {
+            loadLock.unlock();
+        }
+
+        try {
+            Map<Long, AdminUserIndex> loaded = new HashMap<>();
+            jdbcTemplate.query(connection -> {
+                PreparedStatement statement = connection.prepareStatement(LOAD_SQL);
+                statement.setFetchSize(1000);
+                return statement;
+            }, (RowCallbackHandler) rs -> loaded
+                    .computeIfAbsent(rs.getLong(2), adminPk -> new AdminUserIndex(1024))
+                    .load(rs.getLong(1), rs.getString(3), rs.getString(4), rs.getString(5)));
+            loaded.values().forEach(AdminUserIndex::finishLoad);
+
+            loadLock.lock();
+            try {
+                admins.putAll(loaded);
+                changesDuringLoad.forEach(Runnable::run);
+                changesDuringLoad.clear();
+                ready = true;
+            } finally {
+                loadLock.unlock();
+            }
+            log.info("User search index loaded ({} users)", loaded.values().stream().mapToInt(AdminUserIndex::size).sum());
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("User search index could not be loaded", e);
+            loadLock.lock();
+            try {
+                changesDuringLoad.clear();
+                queueing = false;
+            } finally {
+                loadLock.unlock();
+            }
+            return false;
+        }
+    }
+
+    // Changes waiting for the running (or first) load attempt
+    int queuedChanges() {
+        loadLock.lock();
+        try {
+            return changesDuringLoad.size();
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    private AdminUserIndex admin(long adminPk) {
+        return admins.computeIfAbsent(adminPk, key -> new AdminUserIndex(16));
+    }
+
+    private void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(Runnable change) {
+        if (!ready) {
+            loadLock.lock();
+            try {
+                if (!ready) {
+                    // Between attempts the change is already committed, so the next attempt reads it
+                    if (queueing) {
+                        changesDuringLoad.add(change);
+                    }
+                    return;
+                }
+            } finally {
+                loadLock.unlock();
+            }
+        }
+        change.run();
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.demo.service;
+
+import com.example.demo.model.User;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * Keeps {@link UserSearchIndex} in step with entity writes of {@link User}. Created by Hibernate
+ * through Spring, so it can be autowired. Bulk JPQL statements bypass entity listeners; UserService
+ * reports those to the index itself.
+ */
+public class UserSearchListener {
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void saved(User user) {
+        // getId() on the lazy admin proxy does not load the admin
+        userSearchIndex.userSaved(user.getAdmin().getId(), user.getId(),
+                user.getUsername(), user.getRank(), user.getAreaOfWorking());
+    }
+
+    @PostRemove
+    public void removed(User user) {
+        userSearchIndex.userRemoved(user.getAdmin().getId(), user.getId());
+    }
+}
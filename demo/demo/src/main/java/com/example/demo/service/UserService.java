@@ -4,17 +4,37 @@ import com.example.demo.model.Admin;
 import com.example.demo.model.User;
 import com.example.demo.repository.AdminRepository;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.repository.UserSummary;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.LongConsumer;
 
 @Service
 public class UserService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 500;
+
+    private static final int MAX_SEARCH_RESULTS = 50;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -24,6 +44,30 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserBulkWriter userBulkWriter;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private PortalMetrics portalMetrics;
+
+    @Autowired
+    private UserListVersions userListVersions;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private UserAggregateService userAggregateService;
+
+    @Value("${app.import.commit-interval:2000}")
+    private int importCommitInterval;
+
+    @Value("${app.users.bulk.max-items:10000}")
+    private int bulkMaxItems;
+
     // ✅ ADD USER WITH RANK & AREA
     public User addUserToAdmin(
             String adminId,
@@ -42,57 +86,256 @@ public class UserService {
         user.setAreaOfWorking(areaOfWorking);
         user.setAdmin(admin);
 
-        return userRepository.save(user);
+        User saved;
+        try {
+            saved = userRepository.save(user);
+        } catch (DataIntegrityViolationException e) {
+            // ux_users_admin_username
+            throw new RuntimeException("Username already exists for this admin");
+        }
+        userListVersions.bump(adminId);
+        return saved;
     }
 
-    // ✅ DELETE USER
-    public void deleteUserFromAdmin(String adminId, String username) {
+    // ✅ BULK ADD USERS (one admin lookup, parallel hashing, batched inserts)
+    public Map<String, Object> addUsersToAdmin(String adminId, List<Map<String, Object>> items) {
         Admin admin = adminRepository.findByAdminId(adminId)
                 .orElseThrow(() -> new RuntimeException("Admin not found"));
 
-        User user = userRepository.findByAdminAndUsername(admin, username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        List<Map<String, String>> results = new ArrayList<>(items.size());
+        List<UserImportRow> pending = new ArrayList<>();
+
+        for (Map<String, Object> item : items) {
+            Map<String, String> result = new LinkedHashMap<>();
+            results.add(result);
+
+            UserImportRow row = toImportRow(item, result);
+            if (row != null) {
+                pending.add(row);
+            }
+            if (pending.size() >= importCommitInterval) {
+                flushBulk(admin, pending);
+            }
+        }
+        flushBulk(admin, pending);
+        portalMetrics.recordImportRows(PortalMetrics.ImportType.USER, results);
 
-        userRepository.delete(user);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("status", "completed");
+        response.put("total", results.size());
+        response.put("created", countStatus(results, "success"));
+        response.put("skipped", countStatus(results, "skipped"));
+        response.put("failed", countStatus(results, "error"));
+        response.put("results", results);
+        return response;
     }
 
-    // ✅ EDIT USERNAME
-    public void editUserOfAdmin(String adminId, String username, String newUsername) {
-        Admin admin = adminRepository.findByAdminId(adminId)
-                .orElseThrow(() -> new RuntimeException("Admin not found"));
+    /**
+     * Reads a JSON array of user objects or an NDJSON stream (one object per line).
+     * The whole body is parsed before anything is written, so malformed input changes nothing.
+     */
+    public List<Map<String, Object>> readBulkItems(InputStream body) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        try (MappingIterator<Map<String, Object>> iterator = objectMapper.readerFor(Map.class).readValues(body)) {
+            while (iterator.hasNext()) {
+                if (items.size() >= bulkMaxItems) {
+                    throw new RuntimeException("Too many users in one request (max " + bulkMaxItems + ")");
+                }
+                items.add(iterator.next());
+            }
+        } catch (JacksonException e) {
+            throw new RuntimeException("Invalid JSON: " + e.getOriginalMessage());
+        }
+        return items;
+    }
+
+    private UserImportRow toImportRow(Map<String, Object> item, Map<String, String> result) {
+        String username = text(item.get("username"));
+        String password = text(item.get("password"));
+        String rank = text(item.get("rank"));
+        String areaOfWorking = text(item.get("areaOfWorking"));
+
+        if (username.isEmpty() || password.isEmpty() || rank.isEmpty() || areaOfWorking.isEmpty()) {
+            result.put("status", "error");
+            result.put("username", username);
+            result.put("message", "Missing required fields");
+            return null;
+        }
+
+        User user = new User();
+        user.setUsername(username);
+        user.setRank(rank);
+        user.setAreaOfWorking(areaOfWorking);
+        return new UserImportRow(user, password, result);
+    }
+
+    private void flushBulk(Admin admin, List<UserImportRow> pending) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        try {
+            userBulkWriter.write(admin, pending);
+            userListVersions.bump(admin.getAdminId());
+        } catch (Exception e) {
+            // The whole commit interval was rolled back, so none of its rows were saved
+            for (UserImportRow row : pending) {
+                row.getResult().clear();
+                row.getResult().put("status", "error");
+                row.getResult().put("username", row.getUser().getUsername());
+                row.getResult().put("message", "Error processing user: " + e.getMessage());
+            }
+        }
+        pending.clear();
+    }
+
+    private static long countStatus(List<Map<String, String>> results, String status) {
+        return results.stream().filter(result -> status.equals(result.get("status"))).count();
+    }
+
+    private static String text(Object value) {
+        return value == null ? "" : String.valueOf(value).trim();
+    }
 
-        User user = userRepository.findByAdminAndUsername(admin, username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    // ✅ DELETE USER (one DELETE statement)
+    public void deleteUserFromAdmin(String adminId, String username) {
+        int deleted = userRepository.deleteByAdminIdAndUsername(adminId, username);
+        if (deleted == 0) {
+            throw notFound(adminId);
+        }
+        userListVersions.bump(adminId);
+        updateSearchIndex(adminId, adminPk -> {
+            userSearchIndex.userRemoved(adminPk, username);
+            userAggregateService.userChanged(adminPk);
+        });
+    }
 
-        user.setUsername(newUsername);
-        userRepository.save(user);
+    // ✅ EDIT USERNAME (one UPDATE statement)
+    public void editUserOfAdmin(String adminId, String username, String newUsername) {
+        int updated;
+        try {
+            updated = userRepository.updateUsername(adminId, username, newUsername, LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            throw new RuntimeException("Username already exists for this admin");
+        }
+        if (updated == 0) {
+            throw notFound(adminId);
+        }
+        userListVersions.bump(adminId);
+        updateSearchIndex(adminId, adminPk -> userSearchIndex.usernameChanged(adminPk, username, newUsername));
     }
 
-    // ✅ EDIT RANK & AREA OF WORKING (THIS IS WHAT YOU WANTED)
+    // ✅ EDIT RANK & AREA OF WORKING (one UPDATE statement)
     public void updateUserRankAndArea(
             String adminId,
             String username,
             String rank,
             String areaOfWorking
     ) {
+        int updated = userRepository.updateRankAndArea(adminId, username, rank, areaOfWorking, LocalDateTime.now());
+        if (updated == 0) {
+            throw notFound(adminId);
+        }
+        userListVersions.bump(adminId);
+        updateSearchIndex(adminId, adminPk -> {
+            userSearchIndex.rankAndAreaChanged(adminPk, username, rank, areaOfWorking);
+            userAggregateService.userChanged(adminPk);
+        });
+    }
+
+    // The single-statement edits above bypass the entity listeners, so the index and the counts are
+    // told directly. No row is read first: the counts are only marked stale and recounted when next
+    // asked for. The admin lookup is served from the second-level cache in the common case.
+    private void updateSearchIndex(String adminId, LongConsumer change) {
+        adminRepository.findByAdminId(adminId).ifPresent(admin -> change.accept(admin.getId()));
+    }
+
+    // ✅ SEARCH USERS (typeahead from the in-memory index, no query; see UserSearchIndex)
+    public Map<String, Object> searchUsers(String adminId, String query, int limit) {
         Admin admin = adminRepository.findByAdminId(adminId)
                 .orElseThrow(() -> new RuntimeException("Admin not found"));
 
-        User user = userRepository.findByAdminAndUsername(admin, username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        String prefix = query == null ? "" : query.trim();
+        if (prefix.isEmpty()) {
+            throw new RuntimeException("Search text is required");
+        }
+        int size = Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS));
 
-        user.setRank(rank);
-        user.setAreaOfWorking(areaOfWorking);
+        // One extra hit tells us whether there are more matches
+        List<UserSearchHit> hits = userSearchIndex.search(admin.getId(), prefix, size + 1);
+        boolean hasMore = hits.size() > size;
 
-        userRepository.save(user);
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("content", hasMore ? hits.subList(0, size) : hits);
+        response.put("query", prefix);
+        response.put("hasMore", hasMore);
+        return response;
     }
 
-    // ✅ PAGINATION
-    public Page<User> getUsersByAdminPaginated(String adminId, int page, int size) {
+    // ✅ USER COUNTS BY RANK & AREA (from the in-memory counters; one keyed recount after a delete or rank/area edit)
+    public Map<String, Object> getUserAggregates(String adminId) {
+        Admin admin = adminRepository.findByAdminId(adminId)
+                .orElseThrow(() -> new RuntimeException("Admin not found"));
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("adminId", adminId);
+        response.putAll(userAggregateService.summary(admin.getId()));
+        return response;
+    }
+
+    // Only runs when nothing matched, to keep the "Admin not found" / "User not found" distinction.
+    // The admin lookup is served from the second-level cache in the common case.
+    private RuntimeException notFound(String adminId) {
+        if (adminRepository.findByAdminId(adminId).isEmpty()) {
+            return new RuntimeException("Admin not found");
+        }
+        return new RuntimeException("User not found");
+    }
+
+    // ✅ PAGINATION (read-only: may be served by the read replica)
+    @Transactional(readOnly = true)
+    public Page<UserSummary> getUsersByAdminPaginated(String adminId, int page, int size) {
         Admin admin = adminRepository.findByAdminId(adminId)
                 .orElseThrow(() -> new RuntimeException("Admin not found"));
 
         Pageable pageable = PageRequest.of(page, size);
-        return userRepository.findByAdmin(admin, pageable);
+        return userRepository.findSummariesByAdmin(admin, pageable);
+    }
+
+    // ✅ CURSOR (KEYSET) PAGINATION (read-only: may be served by the read replica)
+    @Transactional(readOnly = true)
+    public Map<String, Object> getUsersByAdminAfter(String adminId, String cursor, UserCursor.Sort sort,
+                                                    int size, boolean includeTotal) {
+        Admin admin = adminRepository.findByAdminId(adminId)
+                .orElseThrow(() -> new RuntimeException("Admin not found"));
+
+        UserCursor after = cursor == null || cursor.isEmpty() ? UserCursor.first(sort) : UserCursor.decode(cursor);
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+
+        // One extra row tells us whether there is a next page without counting
+        Limit limit = Limit.of(pageSize + 1);
+        List<UserSummary> users = after.sort() == UserCursor.Sort.ID
+                ? userRepository.findPageById(admin, after.id(), limit)
+                : userRepository.findPageByUsername(admin, after.username(), after.id(), limit);
+
+        boolean hasNext = users.size() > pageSize;
+        if (hasNext) {
+            users = users.subList(0, pageSize);
+        }
+
+        Map<String, Object> response = new LinkedHashMap<>();
+        response.put("content", users);
+        response.put("size", pageSize);
+        response.put("sort", after.sort().name().toLowerCase());
+        response.put("hasNext", hasNext);
+        if (hasNext) {
+            UserSummary last = users.get(users.size() - 1);
+            response.put("nextCursor", new UserCursor(after.sort(), last.id(), last.username()).encode());
+        } else {
+            response.put("nextCursor", null);
+        }
+        if (includeTotal) {
+            response.put("totalElements", userRepository.countByAdmin(admin));
+        }
+        return response;
     }
 }
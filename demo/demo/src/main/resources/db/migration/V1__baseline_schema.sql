@@ -0,0 +1,33 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update). IF NOT EXISTS lets this run as a
+-- no-op on databases that were created before migrations (baseline-on-migrate, baseline version 0).
+
+create table if not exists admins (
+    id bigint not null,
+    admin_id varchar(255) not null,
+    area_of_working varchar(255) not null,
+    created_at timestamp(6),
+    first_login boolean not null,
+    is_active boolean not null,
+    name varchar(255) not null,
+    password varchar(255) not null,
+    password_changed boolean not null,
+    rank varchar(255) not null,
+    updated_at timestamp(6),
+    primary key (id),
+    constraint uk_admins_admin_id unique (admin_id)
+);
+
+create sequence if not exists admins_seq start with 1 increment by 50;
+
+create table if not exists users (
+    id bigint generated by default as identity,
+    area_of_working varchar(255) not null,
+    created_at timestamp(6),
+    password varchar(255) not null,
+    rank varchar(255) not null,
+    updated_at timestamp(6),
+    username varchar(255) not null,
+    admin_id bigint not null,
+    primary key (id),
+    constraint fk_users_admin foreign key (admin_id) references admins (id)
+);
@@ -0,0 +1,6 @@
+-- Every user edit/delete and the username-ordered listing look users up by (admin_id, username).
+-- A username is unique within its admin, which the single-row lookups already assume.
+create unique index if not exists ux_users_admin_username on users (admin_id, username);
+
+-- Login resolves the admin by name
+create index if not exists ix_admins_name on admins (name);
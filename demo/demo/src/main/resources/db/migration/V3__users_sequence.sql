@@ -0,0 +1,3 @@
+-- Users switch from IDENTITY to a pooled sequence so Hibernate can batch their inserts.
+-- IdSequenceInitializer moves it past the ids already handed out by the identity column.
+create sequence if not exists users_seq start with 1 increment by 50;
@@ -0,0 +1,4 @@
+-- SHA-256 of the imported columns (name, rank, area_of_working), kept current by Admin's lifecycle
+-- callbacks. Upsert imports compare it instead of the columns; rows written before this migration
+-- have none until their next upsert import fills it in.
+alter table admins add column if not exists content_hash varchar(64);
@@ -0,0 +1,21 @@
+package com.example.demo;
+
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * BCrypt at its lowest strength, for tests that import or reset many admins and measure
+ * something other than hashing. Add it with {@code @Import(FastHashing.class)}.
+ */
+@TestConfiguration
+public class FastHashing {
+
+    @Bean
+    @Primary
+    PasswordEncoder fastPasswordEncoder() {
+        return new BCryptPasswordEncoder(4);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.demo;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Admin roster workbooks for the import tests: one "Admins" sheet, the header in row 0 and one
+ * admin per row after it, laid out like the files the admin import reads.
+ */
+public final class RosterWorkbooks {
+
+    private RosterWorkbooks() {
+    }
+
+    /** A workbook with just the header row; callers add rows from row 1 and close it. */
+    public static XSSFWorkbook withHeader() {
+        XSSFWorkbook workbook = new XSSFWorkbook();
+        Row header = workbook.createSheet("Admins").createRow(0);
+        header.createCell(0).setCellValue("Admin ID");
+        header.createCell(1).setCellValue("Name");
+        header.createCell(2).setCellValue("Rank");
+        header.createCell(3).setCellValue("Area of Working");
+        return workbook;
+    }
+
+    /** The header followed by {@code rows}, one string cell per value. */
+    public static void write(OutputStream out, List<String[]> rows) throws IOException {
+        try (XSSFWorkbook workbook = withHeader()) {
+            Sheet sheet = workbook.getSheetAt(0);
+            for (int i = 0; i < rows.size(); i++) {
+                Row row = sheet.createRow(i + 1);
+                String[] values = rows.get(i);
+                for (int column = 0; column < values.length; column++) {
+                    row.createCell(column).setCellValue(values[column]);
+                }
+            }
+            workbook.write(out);
+        }
+    }
+
+    /** Same, written to a new file in {@code directory}. */
+    public static File write(Path directory, List<String[]> rows) throws IOException {
+        File file = Files.createTempFile(directory, "roster-", ".xlsx").toFile();
+        try (OutputStream out = Files.newOutputStream(file.toPath())) {
+            write(out, rows);
+        }
+        return file;
+    }
+
+    /** A roster row for an Inspector working in North. */
+    public static String[] inspector(String adminId, String name) {
+        return new String[]{adminId, name, "Inspector", "North"};
+    }
+}
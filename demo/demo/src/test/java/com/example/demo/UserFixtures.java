@@ -0,0 +1,82 @@
+package com.example.demo;
+
+import com.example.demo.model.Admin;
+import com.example.demo.model.User;
+import com.example.demo.repository.AdminRepository;
+import com.example.demo.repository.UserRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Seeds admins, with or without a batch of users, for the tests that need data in place. Most
+ * test classes keep one in-memory database for all their methods, so an admin that already exists
+ * is left as it is.
+ */
+public final class UserFixtures {
+
+    public static final String PASSWORD_HASH = "not-a-real-hash";
+
+    private UserFixtures() {
+    }
+
+    /**
+     * The admin, created first if needed with {@code count} users (Constable, North) named
+     * {@code username.apply(0)} to {@code username.apply(count - 1)}, saved in that order.
+     */
+    public static Admin adminWithUsers(AdminRepository adminRepository, UserRepository userRepository,
+                                       String adminId, int count, IntFunction<String> username) {
+        return adminWithUsers(adminRepository, userRepository, adminId, count, username, PASSWORD_HASH);
+    }
+
+    public static Admin adminWithUsers(AdminRepository adminRepository, UserRepository userRepository,
+                                       String adminId, int count, IntFunction<String> username, String passwordHash) {
+        return adminWithUsers(adminRepository, userRepository, adminId, count, username, passwordHash, user -> { });
+    }
+
+    /** Same, with {@code customize} applied to each user before it is saved. */
+    public static Admin adminWithUsers(AdminRepository adminRepository, UserRepository userRepository,
+                                       String adminId, int count, IntFunction<String> username, Consumer<User> customize) {
+        return adminWithUsers(adminRepository, userRepository, adminId, count, username, PASSWORD_HASH, customize);
+    }
+
+    /** The admin (Inspector, North, named after the admin id), created first if needed, without users. */
+    public static Admin admin(AdminRepository adminRepository, String adminId) {
+        return adminRepository.findByAdminId(adminId).orElseGet(() -> saveAdmin(adminRepository, adminId, PASSWORD_HASH));
+    }
+
+    private static Admin adminWithUsers(AdminRepository adminRepository, UserRepository userRepository, String adminId,
+                                        int count, IntFunction<String> username, String passwordHash, Consumer<User> customize) {
+        Admin existing = adminRepository.findByAdminId(adminId).orElse(null);
+        if (existing != null) {
+            return existing;
+        }
+
+        Admin admin = saveAdmin(adminRepository, adminId, passwordHash);
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            User user = new User();
+            user.setUsername(username.apply(i));
+            user.setPassword(passwordHash);
+            user.setRank("Constable");
+            user.setAreaOfWorking("North");
+            user.setAdmin(admin);
+            customize.accept(user);
+            users.add(user);
+        }
+        userRepository.saveAll(users);
+        return admin;
+    }
+
+    private static Admin saveAdmin(AdminRepository adminRepository, String adminId, String passwordHash) {
+        Admin admin = new Admin();
+        admin.setAdminId(adminId);
+        admin.setName(adminId + " Name");
+        admin.setRank("Inspector");
+        admin.setAreaOfWorking("North");
+        admin.setPassword(passwordHash);
+        return adminRepository.save(admin);
+    }
+}
@@ -0,0 +1,131 @@
+package com.example.demo;
+
+import com.example.demo.repository.AdminRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.security.TokenService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Platform-thread Tomcat (the default) against virtual threads at high concurrency, on the
+ * JDBC-bound user listing. Opt-in and Java 21+ only:
+ *
+ *   mvn -Pjava21 test -Dtest=VirtualThreadsBenchmarkTests -Dbenchmark=true
+ *
+ * Optional: -Dbenchmark.concurrency=1000 -Dbenchmark.requests=20000
+ */
+@EnabledForJreRange(min = JRE.JAVA_21)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class VirtualThreadsBenchmarkTests {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsBenchmarkTests.class);
+
+    private static final String ADMIN_ID = "vt-admin";
+    private static final int USERS = 200;
+
+    private final int concurrency = Integer.getInteger("benchmark.concurrency", 1000);
+    private final int requests = Integer.getInteger("benchmark.requests", 20_000);
+
+    @Test
+    void compareThreadingModels() throws Exception {
+        // Both models share this JVM, so discard one round of each to even out JIT warm-up
+        run(false);
+        run(true);
+
+        Result platform = run(false);
+        Result virtual = run(true);
+
+        log.info("concurrency {}, {} requests", concurrency, requests);
+        log.info("platform threads: {}", platform);
+        log.info("virtual threads:  {}", virtual);
+
+        assertThat(platform.failures).isZero();
+        assertThat(virtual.failures).isZero();
+    }
+
+    private Result run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(DemoApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:vt-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1",
+                "--spring.threads.virtual.enabled=" + virtualThreads,
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.demo.VirtualThreadsBenchmarkTests=INFO",
+                "--logging.level.org.hibernate.SQL=WARN",
+                "--logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN")) {
+
+            seed(context);
+            String token = context.getBean(TokenService.class).issue(ADMIN_ID, "ADMIN");
+            URI uri = URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port")
+                    + "/api/auth/admin-users?adminId=" + ADMIN_ID + "&size=20");
+
+            // Warm up, then measure
+            load(uri, token, Math.min(requests, 2_000));
+            return load(uri, token, requests);
+        }
+    }
+
+    private Result load(URI uri, String token, int total) throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        HttpRequest request = HttpRequest.newBuilder(uri).header("Authorization", "Bearer " + token).GET().build();
+
+        Semaphore inFlight = new Semaphore(concurrency);
+        long[] latencies = new long[total];
+        AtomicInteger failures = new AtomicInteger();
+        List<CompletableFuture<Void>> futures = new ArrayList<>(total);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            int index = i;
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            futures.add(client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .handle((response, error) -> {
+                        latencies[index] = System.nanoTime() - sent;
+                        if (error != null || response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                        inFlight.release();
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        Arrays.sort(latencies);
+        return new Result(total / seconds, latencies[total / 2] / 1e6, latencies[(int) (total * 0.99)] / 1e6,
+                failures.get());
+    }
+
+    private void seed(ConfigurableApplicationContext context) {
+        UserFixtures.adminWithUsers(context.getBean(AdminRepository.class), context.getBean(UserRepository.class),
+                ADMIN_ID, USERS, i -> "vt-user-" + i);
+    }
+
+    private record Result(double throughput, double p50Millis, double p99Millis, int failures) {
+        @Override
+        public String toString() {
+            return String.format("%.0f req/s, p50 %.1f ms, p99 %.1f ms, %d failures",
+                    throughput, p50Millis, p99Millis, failures);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.demo.config;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.FlywayException;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Upgrades a database that predates the unique username index, the way the application does on
+ * startup (baseline version 0, so V1 is a no-op on the existing tables).
+ */
+class DuplicateUsernameCheckTests {
+
+    @Test
+    void duplicateUsernamesStopTheMigrationBeforeTheUniqueIndex() {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:duplicate-usernames;DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        flyway(dataSource, "1").migrate();
+        jdbcTemplate.update("INSERT INTO admins (id, admin_id, name, password, rank, area_of_working, first_login, "
+                + "is_active, password_changed) VALUES (1, 'north-admin', 'North', 'x', 'Inspector', 'North', true, true, false)");
+        jdbcTemplate.update("INSERT INTO users (admin_id, username, password, rank, area_of_working) VALUES "
+                + "(1, 'ravi', 'a', 'Constable', 'North'), (1, 'ravi', 'b', 'Constable', 'North'), "
+                + "(1, 'kavya', 'c', 'Constable', 'North')");
+
+        assertThatThrownBy(() -> flyway(dataSource, "latest").migrate())
+                .isInstanceOf(FlywayException.class)
+                .hasMessageContaining("Usernames repeated under the same admin (1)")
+                .hasMessageContaining("admin north-admin: 'ravi' x2")
+                .hasMessageNotContaining("kavya");
+        assertThat(flyway(dataSource, "latest").info().current().getVersion().getVersion()).isEqualTo("1");
+
+        jdbcTemplate.update("UPDATE users SET username = 'ravi-2' WHERE password = 'b'");
+        flyway(dataSource, "latest").migrate();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM information_schema.indexes "
+                + "WHERE index_name = 'UX_USERS_ADMIN_USERNAME'", Integer.class)).isPositive();
+    }
+
+    private static Flyway flyway(DataSource dataSource, String target) {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .target(target)
+                .callbacks(new DuplicateUsernameCheck())
+                .load();
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.demo.config;
+
+import com.example.demo.service.AdminService;
+import com.example.demo.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.flywaydb.core.Flyway;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two local H2 databases stand in for primary and replica. Nothing replicates between them, so
+ * where a query ran shows in what it returns.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=" + ReadReplicaRoutingTests.PRIMARY_URL,
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class ReadReplicaRoutingTests {
+
+    static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1";
+    static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1";
+
+    private static final JdbcTemplate primary = new JdbcTemplate(new DriverManagerDataSource(PRIMARY_URL, "sa", ""));
+    private static final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @DynamicPropertySource
+    static void replica(DynamicPropertyRegistry registry) {
+        // A real replica gets its schema from the primary; here it has to be migrated up front
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").baselineOnMigrate(true).baselineVersion("0").load().migrate();
+        registry.add("app.datasource.replica.url", () -> REPLICA_URL);
+    }
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void endRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void readOnlyLookupsGoToTheReplica() {
+        insertAdmin(replica, 9001, "replica-only");
+
+        assertThat(adminService.findByAdminId("replica-only")).isPresent();
+        assertThat(adminService.findByName("replica-only Name")).isPresent();
+        assertThat(countAdmins(primary, "replica-only")).isZero();
+    }
+
+    @Test
+    void writesGoToThePrimary() {
+        insertAdmin(primary, 9002, "writer");
+        insertAdmin(replica, 9002, "writer");
+
+        userService.addUserToAdmin("writer", "written-user", "Secret@123", "Constable", "North");
+
+        assertThat(countUsers(primary, 9002)).isEqualTo(1);
+        assertThat(countUsers(replica, 9002)).isZero();
+        // A later request without writes reads the (lagging) replica
+        startRequest();
+        assertThat(userService.getUsersByAdminPaginated("writer", 0, 10).getTotalElements()).isZero();
+    }
+
+    @Test
+    void requestThatWroteReadsItsOwnWritesFromThePrimary() {
+        insertAdmin(primary, 9003, "ryw");
+        insertAdmin(replica, 9003, "ryw");
+
+        startRequest();
+        assertThat(userService.getUsersByAdminPaginated("ryw", 0, 10).getTotalElements()).isZero();
+        userService.addUserToAdmin("ryw", "own-write", "Secret@123", "Constable", "North");
+        assertThat(userService.getUsersByAdminPaginated("ryw", 0, 10).getContent())
+                .extracting("username").containsExactly("own-write");
+
+        // The next request starts on the replica again
+        startRequest();
+        assertThat(userService.getUsersByAdminPaginated("ryw", 0, 10).getTotalElements()).isZero();
+    }
+
+    @Test
+    void replicaReadsAreNotPutIntoTheAdminCache() {
+        insertAdmin(primary, 9004, "lagging");
+        insertAdmin(replica, 9004, "lagging");
+        insertAdmin(primary, 9005, "busy");
+        insertAdmin(replica, 9005, "busy");
+        // Deactivated on the primary; the replica has not caught up yet
+        primary.update("update admins set is_active = false where id = 9004");
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        startRequest();
+        statistics.clear();
+        assertThat(adminService.findByAdminId("lagging").orElseThrow().getIsActive()).isTrue();
+        assertThat(adminService.findByName("lagging Name").orElseThrow().getIsActive()).isTrue();
+        assertThat(statistics.getSecondLevelCachePutCount()).isZero();
+        assertThat(statistics.getQueryCachePutCount()).isZero();
+        // Resolutions are cached whatever the cache mode; the admin id still maps to the same row
+        assertThat(statistics.getNaturalIdCachePutCount()).isEqualTo(1);
+
+        // A request that wrote reads the primary, past nothing stale, and caches what it reads there
+        startRequest();
+        userService.addUserToAdmin("busy", "busy-user", "Secret@123", "Constable", "North");
+        statistics.clear();
+        assertThat(adminService.findByAdminId("lagging").orElseThrow().getIsActive()).isFalse();
+        assertThat(adminService.findByName("lagging Name").orElseThrow().getIsActive()).isFalse();
+        assertThat(statistics.getSecondLevelCachePutCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCachePutCount()).isEqualTo(1);
+
+        // Later replica reads are served the cached admin; the name lookup skips the query cache
+        startRequest();
+        statistics.clear();
+        assertThat(adminService.findByAdminId("lagging").orElseThrow().getIsActive()).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(adminService.findByName("lagging Name")).isPresent();
+        assertThat(statistics.getQueryCacheHitCount() + statistics.getQueryCacheMissCount()).isZero();
+    }
+
+    /** The test framework binds one mock request per test method; this begins another. */
+    private static void startRequest() {
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    private static void insertAdmin(JdbcTemplate database, long id, String adminId) {
+        database.update("insert into admins (id, admin_id, name, rank, area_of_working, password, first_login,"
+                        + " is_active, password_changed) values (?, ?, ?, 'Inspector', 'North', 'not-a-real-hash',"
+                        + " false, true, true)",
+                id, adminId, adminId + " Name");
+    }
+
+    private static int countAdmins(JdbcTemplate database, String adminId) {
+        return database.queryForObject("select count(*) from admins where admin_id = ?", Integer.class, adminId);
+    }
+
+    private static int countUsers(JdbcTemplate database, long adminPk) {
+        return database.queryForObject("select count(*) from users where admin_id = ?", Integer.class, adminPk);
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.demo.controller;
+
+import com.example.demo.FastHashing;
+import com.example.demo.UserFixtures;
+import com.example.demo.model.Admin;
+import com.example.demo.repository.AdminRepository;
+import com.example.demo.security.TokenService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:password-reset;DB_CLOSE_DELAY=-1",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+@Import(FastHashing.class)
+class AdminPasswordResetTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+    @Test
+    void onlySuperAdminsMayResetPasswords() throws Exception {
+        UserFixtures.admin(adminRepository, "guarded-admin");
+        String body = "{\"adminIds\":[\"guarded-admin\"]}";
+
+        assertThat(reset(body, null).statusCode()).isEqualTo(401);
+        assertThat(reset(body, tokenService.issue("guarded-admin", "ADMIN")).statusCode()).isEqualTo(403);
+        assertThat(adminRepository.findByAdminId("guarded-admin").orElseThrow().getPassword())
+                .isEqualTo(UserFixtures.PASSWORD_HASH);
+    }
+
+    @Test
+    void resetsEveryKnownAdminAndReportsUnknownOnes() throws Exception {
+        for (String adminId : new String[]{"reset-1", "reset-2", "reset-3"}) {
+            Admin admin = UserFixtures.admin(adminRepository, adminId);
+            admin.setFirstLogin(false);
+            admin.setPasswordChanged(true);
+            adminRepository.save(admin);
+        }
+
+        HttpResponse<String> response = reset("{\"adminIds\":[\"reset-1\",\"reset-2\",\"ghost\",\"reset-3\",\"reset-1\"],"
+                + "\"temporaryPassword\":\"Temporary@789\"}", superAdminToken());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        Map<String, String> statuses = new HashMap<>();
+        Map<String, String> messages = new HashMap<>();
+        for (JsonNode result : jsonMapper.readTree(response.body()).get("results")) {
+            statuses.put(result.get("adminId").asString(), result.get("status").asString());
+            messages.put(result.get("adminId").asString(), result.get("message").asString());
+        }
+        // Listed twice, reset once
+        assertThat(statuses).containsOnly(Map.entry("reset-1", "success"), Map.entry("reset-2", "success"),
+                Map.entry("ghost", "error"), Map.entry("reset-3", "success"));
+        assertThat(messages.get("ghost")).isEqualTo("Admin not found");
+
+        for (String adminId : new String[]{"reset-1", "reset-2", "reset-3"}) {
+            Admin admin = adminRepository.findByAdminId(adminId).orElseThrow();
+            assertThat(passwordEncoder.matches("Temporary@789", admin.getPassword())).isTrue();
+            assertThat(admin.getFirstLogin()).isTrue();
+            assertThat(admin.getPasswordChanged()).isFalse();
+        }
+        // Same password, each with its own salt
+        assertThat(adminRepository.findByAdminId("reset-1").orElseThrow().getPassword())
+                .isNotEqualTo(adminRepository.findByAdminId("reset-2").orElseThrow().getPassword());
+    }
+
+    @Test
+    void rejectsAnEmptyListAndAWeakTemporaryPassword() throws Exception {
+        UserFixtures.admin(adminRepository, "weak-reset");
+
+        assertThat(reset("{\"adminIds\":[]}", superAdminToken()).statusCode()).isEqualTo(400);
+        assertThat(reset("{\"adminIds\":[\"weak-reset\"],\"temporaryPassword\":\"short\"}", superAdminToken())
+                .statusCode()).isEqualTo(400);
+        assertThat(adminRepository.findByAdminId("weak-reset").orElseThrow().getPassword())
+                .isEqualTo(UserFixtures.PASSWORD_HASH);
+    }
+
+    private String superAdminToken() {
+        return tokenService.issue("prerana", "SUPER_ADMIN");
+    }
+
+    private HttpResponse<String> reset(String body, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/reset-admin-passwords"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
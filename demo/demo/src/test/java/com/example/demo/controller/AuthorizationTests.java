@@ -0,0 +1,121 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.Admin;
+import com.example.demo.repository.AdminRepository;
+import com.example.demo.security.TokenService;
+import com.example.demo.service.AdminImportJob;
+import com.example.demo.service.AdminImportJobService;
+import com.example.demo.service.AdminImportOptions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:authorization;DB_CLOSE_DELAY=-1",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class AuthorizationTests {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private AdminImportJobService adminImportJobService;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void onlySuperAdminsMayImportAdmins() throws Exception {
+        HttpRequest.Builder upload = HttpRequest.newBuilder(uri("/api/auth/upload-admins"))
+                .header("Content-Type", "multipart/form-data; boundary=b")
+                .POST(HttpRequest.BodyPublishers.ofString("--b--\r\n"));
+
+        assertThat(send(upload.copy().header("Authorization", "Bearer " + tokenService.issue("ravi", "ADMIN")))
+                .statusCode()).isEqualTo(403);
+        assertThat(send(upload.copy()).statusCode()).isEqualTo(401);
+    }
+
+    @Test
+    void importJobsAreOnlyVisibleToTheirSubmitter() throws Exception {
+        AdminImportJob job = adminImportJobService.submit(
+                new MockMultipartFile("file", "roster.xlsx", null, "not a workbook".getBytes()),
+                AdminImportOptions.CREATE_ONLY, "prerana");
+
+        String owner = tokenService.issue("prerana", "SUPER_ADMIN");
+        String otherSuperAdmin = tokenService.issue("second-super", "SUPER_ADMIN");
+        String admin = tokenService.issue("ravi", "ADMIN");
+
+        assertThat(get("/api/auth/import-jobs/" + job.getId(), owner).statusCode()).isEqualTo(200);
+        assertThat(get("/api/auth/import-jobs/" + job.getId(), otherSuperAdmin).statusCode()).isEqualTo(404);
+        assertThat(get("/api/auth/import-jobs/" + job.getId() + "/results", otherSuperAdmin).statusCode()).isEqualTo(404);
+        assertThat(get("/api/auth/import-jobs/" + job.getId(), admin).statusCode()).isEqualTo(403);
+    }
+
+    @Test
+    void onlyThePlainHealthCheckIsPublic() throws Exception {
+        assertThat(get("/api/health", null).statusCode()).isEqualTo(200);
+        for (String internals : new String[]{"/api/health/hashing", "/api/health/rate-limits", "/api/health/cache"}) {
+            assertThat(get(internals, null).statusCode()).isEqualTo(401);
+            assertThat(get(internals, tokenService.issue("ravi", "ADMIN")).statusCode()).isEqualTo(403);
+            assertThat(get(internals, tokenService.issue("prerana", "SUPER_ADMIN")).statusCode()).isEqualTo(200);
+        }
+    }
+
+    @Test
+    void removedAdminsTokensStopWorking() throws Exception {
+        for (String mode : new String[]{"soft", "hard"}) {
+            String adminId = mode + "-removed-admin";
+            Admin admin = new Admin();
+            admin.setAdminId(adminId);
+            admin.setName(adminId + " Name");
+            admin.setRank("Inspector");
+            admin.setAreaOfWorking("North");
+            admin.setPassword("not-a-real-hash");
+            adminRepository.save(admin);
+
+            String token = tokenService.issue(adminId, "ADMIN");
+            String summary = "/api/auth/admin-users/summary?adminId=" + adminId;
+            assertThat(get(summary, token).statusCode()).isNotEqualTo(401);
+
+            HttpResponse<String> removal = send(HttpRequest.newBuilder(uri("/api/auth/remove-admins?mode=" + mode))
+                    .header("Authorization", "Bearer " + tokenService.issue("prerana", "SUPER_ADMIN"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString("{\"adminIds\":[\"" + adminId + "\"]}")));
+            assertThat(removal.statusCode()).isEqualTo(200);
+
+            assertThat(get(summary, token).statusCode()).isEqualTo(401);
+        }
+    }
+
+    private HttpResponse<String> get(String path, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path)).GET();
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return send(request);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
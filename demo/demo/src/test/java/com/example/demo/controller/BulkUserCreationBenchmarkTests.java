@@ -0,0 +1,140 @@
+package com.example.demo.controller;
+
+import com.example.demo.model.Admin;
+import com.example.demo.repository.AdminRepository;
+import com.example.demo.security.TokenService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Onboarding throughput over HTTP: the frontend's one-request-per-user loop against a single
+ * bulk request carrying the same users, with the real BCrypt encoder. The measurement is tagged
+ * {@code load} like {@link com.example.demo.loadtest.LoadTests}, so a normal build skips it:
+ *
+ *   mvn -Pload-test test -Dtest=BulkUserCreationBenchmarkTests -Dloadtest.bulk-users=1000
+ *
+ * Throughput and speedup are logged at the end of the run.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk-users;DB_CLOSE_DELAY=-1",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class BulkUserCreationBenchmarkTests {
+
+    private static final Logger log = LoggerFactory.getLogger(BulkUserCreationBenchmarkTests.class);
+
+    private static final String ADMIN_ID = "bulk-admin";
+
+    private final int users = Integer.getInteger("loadtest.bulk-users", 1000);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private TokenService tokenService;
+
+    // Plain keep-alive HTTP/1.1, as the browser uses against this server
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        if (adminRepository.findByAdminId(ADMIN_ID).isEmpty()) {
+            Admin admin = new Admin();
+            admin.setAdminId(ADMIN_ID);
+            admin.setName("Bulk Admin");
+            admin.setRank("Inspector");
+            admin.setAreaOfWorking("North");
+            admin.setPassword("not-a-real-hash");
+            adminRepository.save(admin);
+        }
+        token = tokenService.issue(ADMIN_ID, "ADMIN");
+    }
+
+    // Both paths pay one BCrypt hash per user; bulk spreads them over the hashing pool, so the
+    // speedup depends on the core count and is reported rather than asserted
+    @Tag("load")
+    @Test
+    void bulkRequestAgainstTheSingleUserLoop() throws Exception {
+        // Warm up both paths (JIT, connection, caches) before timing
+        addOneByOne("warm-single-", 50);
+        addInBulk("warm-bulk-", 50);
+
+        long singleStart = System.nanoTime();
+        addOneByOne("single-", users);
+        double singleSeconds = (System.nanoTime() - singleStart) / 1e9;
+
+        long bulkStart = System.nanoTime();
+        HttpResponse<String> bulk = addInBulk("bulk-", users);
+        double bulkSeconds = (System.nanoTime() - bulkStart) / 1e9;
+
+        assertThat(bulk.statusCode()).isEqualTo(200);
+        assertThat(bulk.body()).contains("\"created\":" + users);
+
+        log.info("{} users on {} CPUs: single-user loop {} users/s, bulk {} users/s ({}x)",
+                users, Runtime.getRuntime().availableProcessors(), Math.round(users / singleSeconds),
+                Math.round(users / bulkSeconds), Math.round(singleSeconds / bulkSeconds * 10) / 10.0);
+    }
+
+    @Test
+    void ndjsonBodyReportsPerItemResults() throws Exception {
+        String body = "{\"username\":\"nd-1\",\"password\":\"p\",\"rank\":\"r\",\"areaOfWorking\":\"a\"}\n"
+                + "{\"username\":\"nd-1\",\"password\":\"p\",\"rank\":\"r\",\"areaOfWorking\":\"a\"}\n"
+                + "{\"username\":\"nd-2\"}\n";
+
+        HttpResponse<String> response = post("/api/auth/add-users?adminId=" + ADMIN_ID, "application/x-ndjson", body);
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.body())
+                .contains("\"created\":1", "\"skipped\":1", "\"failed\":1", "Missing required fields");
+    }
+
+    private void addOneByOne(String prefix, int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            HttpResponse<String> response = post("/api/auth/add-user", "application/json", "{\"adminId\":\"" + ADMIN_ID
+                    + "\",\"username\":\"" + prefix + i + "\",\"password\":\"Secret@123\",\"rank\":\"Constable\","
+                    + "\"areaOfWorking\":\"North\"}");
+            assertThat(response.statusCode()).isEqualTo(200);
+        }
+    }
+
+    private HttpResponse<String> addInBulk(String prefix, int count) throws Exception {
+        StringBuilder body = new StringBuilder("[");
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append("{\"username\":\"").append(prefix).append(i)
+                    .append("\",\"password\":\"Secret@123\",\"rank\":\"Constable\",\"areaOfWorking\":\"North\"}");
+        }
+        body.append(']');
+        return post("/api/auth/add-users?adminId=" + ADMIN_ID, "application/json", body.toString());
+    }
+
+    private HttpResponse<String> post(String path, String contentType, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Content-Type", contentType)
+                .header("Authorization", "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+}
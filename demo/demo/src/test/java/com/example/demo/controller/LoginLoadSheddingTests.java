@@ -0,0 +1,154 @@
+package com.example.demo.controller;
+
+import com.example.demo.UserFixtures;
+import com.example.demo.model.Admin;
+import com.example.demo.repository.AdminRepository;
+import com.example.demo.service.PasswordHashingService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Login admission control with one verification thread and one queue slot. The test holds the
+ * first password check open, so every later login either waits in the slot or is turned away.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:login-shedding;DB_CLOSE_DELAY=-1",
+        "app.auth.login.max-concurrency=1",
+        "app.auth.login.queue-capacity=1",
+        "app.auth.login.queue-deadline-ms=200",
+        "app.auth.login.retry-after-seconds=7",
+        "app.rate-limit.enabled=false",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class LoginLoadSheddingTests {
+
+    private static final String PASSWORD = "Secret@123";
+
+    @TestConfiguration
+    static class HeldPasswordChecks {
+        @Bean
+        @Primary
+        HeldEncoder heldEncoder() {
+            return new HeldEncoder();
+        }
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private HeldEncoder encoder;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private PasswordHashingService passwordHashingService;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @AfterEach
+    void release() {
+        encoder.release();
+    }
+
+    @Test
+    void fullQueueAndExpiredDeadlineAnswer503WithRetryAfter() throws Exception {
+        Admin admin = UserFixtures.admin(adminRepository, "busy-login");
+        admin.setPassword(encoder.encode(PASSWORD));
+        adminRepository.save(admin);
+        String name = admin.getName();
+
+        encoder.hold();
+        CompletableFuture<HttpResponse<String>> verifying = login(name);
+        assertThat(encoder.awaitHeldCheck()).isTrue();
+        CompletableFuture<HttpResponse<String>> waiting = login(name);
+        for (int i = 0; i < 100 && !Integer.valueOf(1).equals(passwordHashingService.getStats().get("loginQueueDepth")); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(passwordHashingService.getStats()).containsEntry("loginQueueDepth", 1);
+
+        // Thread busy, slot taken: turned away at once
+        HttpResponse<String> rejected = login(name).get(10, TimeUnit.SECONDS);
+        assertThat(rejected.statusCode()).isEqualTo(503);
+        assertThat(rejected.headers().firstValue("Retry-After")).hasValue("7");
+        assertThat(rejected.body()).contains("Server is busy");
+
+        // The queued login outlives the 200 ms deadline before the thread frees up
+        Thread.sleep(400);
+        encoder.release();
+
+        assertThat(verifying.get(10, TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+        HttpResponse<String> expired = waiting.get(10, TimeUnit.SECONDS);
+        assertThat(expired.statusCode()).isEqualTo(503);
+        assertThat(expired.headers().firstValue("Retry-After")).hasValue("7");
+        assertThat(passwordHashingService.getStats()).containsEntry("loginsShed", 2L).containsEntry("loginsCompleted", 1L);
+
+        // Once the pool is idle again, logins go through
+        assertThat(login(name).get(10, TimeUnit.SECONDS).statusCode()).isEqualTo(200);
+    }
+
+    private CompletableFuture<HttpResponse<String>> login(String username) {
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}"))
+                .build();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    /** Cheap BCrypt whose password checks can be held open until the test releases them. */
+    static class HeldEncoder implements PasswordEncoder {
+        private final PasswordEncoder bcrypt = new BCryptPasswordEncoder(4);
+        private volatile CountDownLatch checking = new CountDownLatch(1);
+        private volatile CountDownLatch released = new CountDownLatch(0);
+
+        void hold() {
+            checking = new CountDownLatch(1);
+            released = new CountDownLatch(1);
+        }
+
+        boolean awaitHeldCheck() throws InterruptedException {
+            return checking.await(10, TimeUnit.SECONDS);
+        }
+
+        void release() {
+            released.countDown();
+        }
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return bcrypt.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            checking.countDown();
+            try {
+                released.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return bcrypt.matches(rawPassword, encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:metrics;DB_CLOSE_DELAY=-1",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class MetricsEndpointTests {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    @Test
+    void healthChecksTheDatabase() throws Exception {
+        HttpResponse<String> health = get("/api/health");
+
+        assertThat(health.statusCode()).isEqualTo(200);
+        assertThat(health.body()).contains("\"database\":\"UP\"", "\"status\":\"UP\"");
+        assertThat(get("/actuator/health").statusCode()).isEqualTo(200);
+    }
+
+    @Test
+    void prometheusEndpointExportsLoginRepositoryAndPoolMetrics() throws Exception {
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"username\":\"nobody\",\"password\":\"Wrong@12345\"}"))
+                .build(), HttpResponse.BodyHandlers.ofString());
+        assertThat(login.statusCode()).isEqualTo(401);
+
+        HttpResponse<String> scrape = get("/actuator/prometheus");
+
+        assertThat(scrape.statusCode()).isEqualTo(200);
+        assertThat(scrape.body())
+                .contains("portal_login_seconds_count{application=\"unified-service-portal\",outcome=\"invalid_credentials\"} 1")
+                .contains("portal_password_hash_seconds_count")
+                .contains("portal_import_rows_total")
+                .contains("spring_data_repository_invocations_seconds_count")
+                .contains("method=\"findByName\"")
+                .contains("hikaricp_connections_active")
+                .contains("executor_active_threads{application=\"unified-service-portal\",name=\"loginVerificationExecutor\"}");
+    }
+
+    @Test
+    void otherActuatorEndpointsNeedAuthentication() throws Exception {
+        assertThat(get("/actuator/metrics").statusCode()).isEqualTo(401);
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(uri(path)).GET().build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
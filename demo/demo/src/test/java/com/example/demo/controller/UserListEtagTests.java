@@ -0,0 +1,128 @@
+package com.example.demo.controller;
+
+import com.example.demo.UserFixtures;
+import com.example.demo.repository.AdminRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.security.TokenService;
+import com.example.demo.service.UserService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:user-list-etag;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class UserListEtagTests {
+
+    private static final String ADMIN_ID = "etag-admin";
+    private static final String OTHER_ADMIN_ID = "etag-other";
+    private static final String LIST = "/api/auth/admin-users?adminId=" + ADMIN_ID + "&page=0&size=100";
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TokenService tokenService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        token = tokenService.issue(ADMIN_ID, "SUPER_ADMIN");
+        UserFixtures.adminWithUsers(adminRepository, userRepository, ADMIN_ID, 50, i -> String.format("etag-user-%02d", i));
+        UserFixtures.adminWithUsers(adminRepository, userRepository, OTHER_ADMIN_ID, 0, i -> null);
+    }
+
+    @Test
+    void unchangedListIsNotModifiedWithoutQueryingTheDatabase() throws Exception {
+        HttpResponse<String> first = get(LIST, null);
+        String etag = first.headers().firstValue("ETag").orElseThrow();
+        assertThat(first.statusCode()).isEqualTo(200);
+        assertThat(etag).startsWith("W/\"");
+        assertThat(first.headers().firstValue("Cache-Control").orElseThrow()).contains("no-cache");
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        HttpResponse<String> again = get(LIST, etag);
+
+        assertThat(again.statusCode()).isEqualTo(304);
+        assertThat(again.body()).isEmpty();
+        assertThat(again.headers().firstValue("ETag")).contains(etag);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void everyUserMutationChangesTheTag() throws Exception {
+        String etag = get(LIST, null).headers().firstValue("ETag").orElseThrow();
+
+        userService.addUserToAdmin(OTHER_ADMIN_ID, "someone-else", "Secret@123", "Constable", "North");
+        assertThat(get(LIST, etag).statusCode()).isEqualTo(304);
+
+        userService.addUserToAdmin(ADMIN_ID, "etag-added", "Secret@123", "Constable", "North");
+        HttpResponse<String> added = get(LIST, etag);
+        assertThat(added.statusCode()).isEqualTo(200);
+        assertThat(added.body()).contains("etag-added");
+        etag = added.headers().firstValue("ETag").orElseThrow();
+
+        userService.updateUserRankAndArea(ADMIN_ID, "etag-added", "Inspector", "South");
+        HttpResponse<String> edited = get(LIST, etag);
+        assertThat(edited.statusCode()).isEqualTo(200);
+        etag = edited.headers().firstValue("ETag").orElseThrow();
+
+        userService.deleteUserFromAdmin(ADMIN_ID, "etag-added");
+        HttpResponse<String> deleted = get(LIST, etag);
+        assertThat(deleted.statusCode()).isEqualTo(200);
+        assertThat(deleted.body()).doesNotContain("etag-added");
+    }
+
+    @Test
+    void largeListsAreGzipped() throws Exception {
+        HttpResponse<byte[]> response = client.send(request(LIST, null).header("Accept-Encoding", "gzip").build(),
+                HttpResponse.BodyHandlers.ofByteArray());
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(response.headers().firstValue("Content-Encoding")).contains("gzip");
+        assertThat(response.headers().firstValue("ETag")).isPresent();
+    }
+
+    private HttpResponse<String> get(String path, String ifNoneMatch) throws Exception {
+        HttpRequest.Builder builder = request(path, ifNoneMatch);
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder request(String path, String ifNoneMatch) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Authorization", "Bearer " + token)
+                .GET();
+        return ifNoneMatch == null ? builder : builder.header("If-None-Match", ifNoneMatch);
+    }
+}
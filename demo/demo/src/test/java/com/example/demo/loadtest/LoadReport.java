@@ -0,0 +1,138 @@
+package com.example.demo.loadtest;
+
+import org.HdrHistogram.Histogram;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One directory per run under the report root, named by time, commit and workload so runs sort
+ * chronologically and can be compared between commits:
+ *
+ *   summary.json       run settings and, per scenario, throughput, status codes and percentiles (ms)
+ *   {scenario}.hgrm    full HdrHistogram percentile distribution (ms), for the HdrHistogram plotter
+ */
+class LoadReport {
+
+    private static final DateTimeFormatter RUN_ID = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final Path directory;
+    private final Map<String, Object> settings;
+    private final Instant startedAt;
+
+    LoadReport(Path root, String workload, String commit, Map<String, Object> settings) {
+        this.startedAt = Instant.now();
+        this.directory = root.resolve(RUN_ID.format(startedAt) + "-" + commit + "-" + workload);
+        this.settings = settings;
+        this.settings.put("workload", workload);
+        this.settings.put("commit", commit);
+    }
+
+    Path write(List<ScenarioStats> scenarios, long measuredNanos) throws IOException {
+        Files.createDirectories(directory);
+        double seconds = measuredNanos / 1e9;
+
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (ScenarioStats scenario : scenarios) {
+            results.add(summarize(scenario, seconds));
+            try (OutputStream out = Files.newOutputStream(directory.resolve(scenario.getName() + ".hgrm"));
+                 PrintStream print = new PrintStream(out, false, StandardCharsets.UTF_8)) {
+                scenario.getHistogram().outputPercentileDistribution(print, MICROS_PER_MILLI);
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("startedAt", startedAt.toString());
+        summary.put("measuredSeconds", Math.round(seconds * 10) / 10.0);
+        summary.put("settings", settings);
+        summary.put("scenarios", results);
+
+        try (OutputStream out = Files.newOutputStream(directory.resolve("summary.json"))) {
+            JsonMapper.builder().build().writerWithDefaultPrettyPrinter().writeValue(out, summary);
+        }
+
+        print(results);
+        return directory;
+    }
+
+    private Map<String, Object> summarize(ScenarioStats scenario, double seconds) {
+        Histogram histogram = scenario.getHistogram();
+
+        Map<String, Object> latency = new LinkedHashMap<>();
+        latency.put("mean", millis(histogram.getMean()));
+        latency.put("p50", millis(histogram.getValueAtPercentile(50)));
+        latency.put("p90", millis(histogram.getValueAtPercentile(90)));
+        latency.put("p99", millis(histogram.getValueAtPercentile(99)));
+        latency.put("p99.9", millis(histogram.getValueAtPercentile(99.9)));
+        latency.put("max", millis(histogram.getMaxValue()));
+
+        // Includes requests that got no response (status code 0)
+        long requests = scenario.getStatusCounts().values().stream().mapToLong(Long::longValue).sum();
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("scenario", scenario.getName());
+        result.put("requests", requests);
+        result.put("failures", scenario.getFailures());
+        result.put("throughputPerSecond", Math.round(requests / seconds * 10) / 10.0);
+        result.put("statusCodes", scenario.getStatusCounts());
+        result.put("latencyMs", latency);
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void print(List<Map<String, Object>> results) {
+        System.out.printf("%n%-16s %9s %9s %10s %9s %9s %9s %9s %9s%n",
+                "scenario", "requests", "failures", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Map<String, Object> result : results) {
+            Map<String, Object> latency = (Map<String, Object>) result.get("latencyMs");
+            System.out.printf("%-16s %9d %9d %10.1f %9.1f %9.1f %9.1f %9.1f %9.1f%n",
+                    result.get("scenario"), result.get("requests"), result.get("failures"),
+                    result.get("throughputPerSecond"), latency.get("p50"), latency.get("p90"),
+                    latency.get("p99"), latency.get("p99.9"), latency.get("max"));
+        }
+        System.out.println("report: " + directory.toAbsolutePath());
+    }
+
+    private static double millis(double micros) {
+        return Math.round(micros / MICROS_PER_MILLI * 100) / 100.0;
+    }
+
+    /** Short commit id of the working tree, with "-dirty" for uncommitted changes; "unknown" without git. */
+    static String currentCommit() {
+        try {
+            String commit = git("rev-parse", "--short", "HEAD");
+            String changes = git("status", "--porcelain", "--untracked-files=no");
+            return commit.isEmpty() ? "unknown" : changes.isEmpty() ? commit : commit + "-dirty";
+        } catch (IOException e) {
+            return "unknown";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "unknown";
+        }
+    }
+
+    private static String git(String... args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of("git"));
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        String output = new String(process.getInputStream().readAllBytes(), StandardCharsets.UTF_8).trim();
+        if (!process.waitFor(10, TimeUnit.SECONDS) || process.exitValue() != 0) {
+            return "";
+        }
+        return output;
+    }
+}
@@ -0,0 +1,408 @@
+package com.example.demo.loadtest;
+
+import com.example.demo.RosterWorkbooks;
+import com.example.demo.UserFixtures;
+import com.example.demo.model.Admin;
+import com.example.demo.repository.AdminRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.security.TokenService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.util.FileSystemUtils;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Workloads against the real HTTP stack (Tomcat, security filter, JPA, H2 file database). Each
+ * client is a closed loop (send, wait for the response, repeat). A warm-up phase is discarded;
+ * the measured phases are written to target/load-reports.
+ *
+ * mixedWorkload runs all scenarios at once: login storm, offset listing, keyset scrolling, user
+ * edits and Excel admin uploads. loginStormIsolation measures listing and health twice, first on
+ * their own and then during a login storm, so the two p99s show what the storm costs other traffic.
+ *
+ *   mvn -Pload-test test
+ *   mvn -Pload-test test -Dloadtest.duration-seconds=120 -Dloadtest.login-clients=16
+ *
+ * Everything runs in-process and offline. Auth rate limits are switched off so the login storm
+ * reaches BCrypt and the login pool's admission control instead of stopping at 429s.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "app.rate-limit.enabled=false",
+        "logging.level.root=WARN",
+        "logging.level.com.example.demo.loadtest=INFO",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class LoadTests {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTests.class);
+
+    private static final Path DATABASE_DIR = Path.of("target", "loadtest", "db");
+    private static final String PASSWORD = "Load@12345";
+    private static final String SUPER_ADMIN_ID = "1";
+    private static final String XLSX = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    private static final int PAGE_SIZE = 20;
+
+    private final int warmupSeconds = Integer.getInteger("loadtest.warmup-seconds", 10);
+    private final int durationSeconds = Integer.getInteger("loadtest.duration-seconds", 60);
+    private final int admins = Integer.getInteger("loadtest.admins", 20);
+    private final int usersPerAdmin = Integer.getInteger("loadtest.users-per-admin", 500);
+    private final int loginClients = Integer.getInteger("loadtest.login-clients", 8);
+    private final int listingClients = Integer.getInteger("loadtest.listing-clients", 8);
+    private final int healthClients = Integer.getInteger("loadtest.health-clients", 4);
+    private final int isolationSeconds = Integer.getInteger("loadtest.isolation-seconds", 30);
+    private final int scrollClients = Integer.getInteger("loadtest.scroll-clients", 8);
+    private final int editClients = Integer.getInteger("loadtest.edit-clients", 4);
+    private final int uploadClients = Integer.getInteger("loadtest.upload-clients", 2);
+    private final int uploadRows = Integer.getInteger("loadtest.upload-rows", 20);
+    private final Path reportRoot = Path.of(System.getProperty("loadtest.report-dir", "target/load-reports"));
+
+    @DynamicPropertySource
+    static void fileDatabase(DynamicPropertyRegistry registry) {
+        // A fresh file database per run, so data from earlier runs does not skew the numbers
+        FileSystemUtils.deleteRecursively(DATABASE_DIR.toFile());
+        registry.add("spring.datasource.url", () -> "jdbc:h2:file:" + DATABASE_DIR.toAbsolutePath().resolve("portal"));
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TokenService tokenService;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final JsonMapper jsonMapper = JsonMapper.builder().build();
+    private final AtomicLong uploadedAdmins = new AtomicLong();
+
+    private final List<String> adminIds = new ArrayList<>();
+    private final List<String> adminNames = new ArrayList<>();
+    private final Map<String, String> adminTokens = new LinkedHashMap<>();
+    private String superAdminToken;
+
+    @Test
+    void mixedWorkload() throws Exception {
+        seed();
+
+        List<Scenario> scenarios = List.of(
+                new Scenario("login", loginClients, new LoginStep()),
+                new Scenario("listing", listingClients, new ListingStep()),
+                new Scenario("scroll", scrollClients, new ScrollStep()),
+                new Scenario("edit", editClients, new EditStep()),
+                new Scenario("upload", uploadClients, new UploadStep()));
+
+        log.info("load test: warm-up {}s, measuring {}s, {} client threads", warmupSeconds, durationSeconds,
+                scenarios.stream().mapToInt(Scenario::clients).sum());
+        run(scenarios, warmupSeconds);
+        long start = System.nanoTime();
+        List<ScenarioStats> measured = run(scenarios, durationSeconds);
+        long elapsed = System.nanoTime() - start;
+
+        Map<String, Object> settings = settings();
+        settings.put("durationSeconds", durationSeconds);
+        new LoadReport(reportRoot, "mixed", LoadReport.currentCommit(), settings).write(measured, elapsed);
+
+        assertResponses(measured);
+    }
+
+    @Test
+    void loginStormIsolation() throws Exception {
+        seed();
+
+        Scenario listing = new Scenario("listing", listingClients, new ListingStep());
+        Scenario health = new Scenario("health", healthClients, new HealthStep());
+        Scenario login = new Scenario("login", loginClients, new LoginStep());
+
+        log.info("login isolation: warm-up {}s, then {}s without and {}s with {} login clients", warmupSeconds,
+                isolationSeconds, isolationSeconds, loginClients);
+        run(List.of(listing, health, login), warmupSeconds);
+        long start = System.nanoTime();
+        List<ScenarioStats> measured = new ArrayList<>(run(List.of(listing.in("baseline"), health.in("baseline")),
+                isolationSeconds));
+        measured.addAll(run(List.of(listing.in("storm"), health.in("storm"), login.in("storm")), isolationSeconds));
+        // Both phases are equally long; throughput is per phase
+        long phaseNanos = (System.nanoTime() - start) / 2;
+
+        Map<String, Object> settings = settings();
+        settings.put("phaseSeconds", isolationSeconds);
+        settings.put("healthClients", healthClients);
+        new LoadReport(reportRoot, "login-isolation", LoadReport.currentCommit(), settings).write(measured, phaseNanos);
+
+        for (String scenario : List.of("listing", "health")) {
+            double baseline = p99Millis(measured, "baseline-" + scenario);
+            double storm = p99Millis(measured, "storm-" + scenario);
+            log.info(String.format("%s p99: %.1f ms without logins, %.1f ms during the login storm (%.2fx)",
+                    scenario, baseline, storm, storm / baseline));
+        }
+        assertResponses(measured);
+    }
+
+    private static void assertResponses(List<ScenarioStats> measured) {
+        for (ScenarioStats stats : measured) {
+            assertThat(stats.getHistogram().getTotalCount()).as(stats.getName() + " requests").isPositive();
+            // Shedding logins with 503 is the designed overload response; anything else is a failure
+            Set<Integer> allowed = stats.getName().endsWith("login") ? Set.of(200, 503) : Set.of(200);
+            assertThat(allowed).as(stats.getName() + " status codes").containsAll(stats.getStatusCounts().keySet());
+        }
+    }
+
+    private static double p99Millis(List<ScenarioStats> measured, String name) {
+        ScenarioStats stats = measured.stream().filter(s -> s.getName().equals(name)).findFirst().orElseThrow();
+        return stats.getHistogram().getValueAtPercentile(99) / 1000.0;
+    }
+
+    private List<ScenarioStats> run(List<Scenario> scenarios, int seconds) throws Exception {
+        int threads = scenarios.stream().mapToInt(Scenario::clients).sum();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        List<ScenarioStats> results = new ArrayList<>();
+        List<Future<?>> clients = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (Scenario scenario : scenarios) {
+                ScenarioStats stats = new ScenarioStats(scenario.name());
+                results.add(stats);
+                for (int i = 0; i < scenario.clients(); i++) {
+                    int clientId = i;
+                    clients.add(executor.submit(() -> drive(scenario.step(), clientId, stats, deadline)));
+                }
+            }
+            for (Future<?> future : clients) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        results.forEach(ScenarioStats::finish);
+        return results;
+    }
+
+    private void drive(Step step, int clientId, ScenarioStats stats, long deadline) {
+        for (long iteration = 0; System.nanoTime() < deadline; iteration++) {
+            HttpResponse<String> response;
+            long sent;
+            try {
+                // Building the request (tokens, cursors, workbooks) is not part of the latency
+                HttpRequest request = step.prepare(clientId, iteration);
+                sent = System.nanoTime();
+                response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            } catch (IOException e) {
+                stats.recordError();
+                continue;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            stats.record(System.nanoTime() - sent, response.statusCode());
+            step.handle(clientId, response);
+        }
+    }
+
+    private void seed() {
+        String hash = passwordEncoder.encode(PASSWORD);
+        for (int a = 0; a < admins; a++) {
+            int adminIndex = a;
+            Admin admin = UserFixtures.adminWithUsers(adminRepository, userRepository, "load-admin-" + a,
+                    usersPerAdmin, u -> "load-user-" + adminIndex + "-" + u, hash);
+
+            adminIds.add(admin.getAdminId());
+            adminNames.add(admin.getName());
+            adminTokens.put(admin.getAdminId(), tokenService.issue(admin.getAdminId(), "ADMIN"));
+        }
+        superAdminToken = tokenService.issue(SUPER_ADMIN_ID, "SUPER_ADMIN");
+    }
+
+    private Map<String, Object> settings() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("warmupSeconds", warmupSeconds);
+        settings.put("admins", admins);
+        settings.put("usersPerAdmin", usersPerAdmin);
+        settings.put("loginClients", loginClients);
+        settings.put("listingClients", listingClients);
+        settings.put("scrollClients", scrollClients);
+        settings.put("editClients", editClients);
+        settings.put("uploadClients", uploadClients);
+        settings.put("uploadRows", uploadRows);
+        settings.put("database", "h2 file");
+        settings.put("java", System.getProperty("java.version"));
+        settings.put("cpus", Runtime.getRuntime().availableProcessors());
+        settings.put("maxHeapMb", Runtime.getRuntime().maxMemory() / (1024 * 1024));
+        return settings;
+    }
+
+    private String randomAdminId() {
+        return adminIds.get(ThreadLocalRandom.current().nextInt(adminIds.size()));
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(60));
+        return token == null ? builder : builder.header("Authorization", "Bearer " + token);
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private record Scenario(String name, int clients, Step step) {
+        /** The same clients, reported under the phase's name. */
+        Scenario in(String phase) {
+            return new Scenario(phase + "-" + name, clients, step);
+        }
+    }
+
+    private interface Step {
+        HttpRequest prepare(int clientId, long iteration) throws IOException;
+
+        default void handle(int clientId, HttpResponse<String> response) {
+        }
+    }
+
+    /** Valid credentials for a random admin: BCrypt on the login pool, then a token. */
+    private class LoginStep implements Step {
+        @Override
+        public HttpRequest prepare(int clientId, long iteration) {
+            String name = adminNames.get(ThreadLocalRandom.current().nextInt(adminNames.size()));
+            String body = "{\"username\":\"" + name + "\",\"password\":\"" + PASSWORD + "\"}";
+            return request("/api/auth/login", null)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    }
+
+    /** Unauthenticated health check, which also pings the database. */
+    private class HealthStep implements Step {
+        @Override
+        public HttpRequest prepare(int clientId, long iteration) {
+            return request("/api/health", null).GET().build();
+        }
+    }
+
+    /** Random offset page with total count, as the admin dashboard's pager requests it. */
+    private class ListingStep implements Step {
+        @Override
+        public HttpRequest prepare(int clientId, long iteration) {
+            String adminId = randomAdminId();
+            int page = ThreadLocalRandom.current().nextInt(Math.max(1, usersPerAdmin / PAGE_SIZE));
+            return request("/api/auth/admin-users?adminId=" + encode(adminId) + "&page=" + page + "&size=" + PAGE_SIZE,
+                    adminTokens.get(adminId)).GET().build();
+        }
+    }
+
+    /** Keyset pages by username, following nextCursor to the end of an admin's users, then the next admin. */
+    private class ScrollStep implements Step {
+        private final Map<Integer, String[]> positions = new ConcurrentHashMap<>();
+
+        @Override
+        public HttpRequest prepare(int clientId, long iteration) {
+            String[] position = positions.computeIfAbsent(clientId, id -> new String[] {randomAdminId(), ""});
+            return request("/api/auth/admin-users?adminId=" + encode(position[0]) + "&cursor=" + encode(position[1])
+                    + "&sort=username&size=" + PAGE_SIZE, adminTokens.get(position[0])).GET().build();
+        }
+
+        @Override
+        public void handle(int clientId, HttpResponse<String> response) {
+            String[] position = positions.get(clientId);
+            JsonNode next = response.statusCode() == 200 ? jsonMapper.readTree(response.body()).get("nextCursor") : null;
+            if (next == null || next.isNull()) {
+                position[0] = randomAdminId();
+                position[1] = "";
+            } else {
+                position[1] = next.asString();
+            }
+        }
+    }
+
+    /** Rank and area change of a random existing user (single UPDATE on the unique index). */
+    private class EditStep implements Step {
+        @Override
+        public HttpRequest prepare(int clientId, long iteration) {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            int admin = random.nextInt(adminIds.size());
+            String adminId = adminIds.get(admin);
+            String body = "{\"adminId\":\"" + adminId + "\",\"username\":\"load-user-" + admin + "-"
+                    + random.nextInt(usersPerAdmin) + "\",\"rank\":\"Rank " + (iteration % 5)
+                    + "\",\"areaOfWorking\":\"Area " + (iteration % 7) + "\"}";
+            return request("/api/auth/edit-user", adminTokens.get(adminId))
+                    .header("Content-Type", "application/json")
+                    .PUT(HttpRequest.BodyPublishers.ofString(body))
+                    .build();
+        }
+    }
+
+    /** Synchronous Excel import of new admins (one BCrypt hash per row) as the super admin. */
+    private class UploadStep implements Step {
+        private static final String BOUNDARY = "----load-test-boundary";
+
+        @Override
+        public HttpRequest prepare(int clientId, long iteration) throws IOException {
+            ByteArrayOutputStream body = new ByteArrayOutputStream();
+            body.write(("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"admins.xlsx\"\r\n"
+                    + "Content-Type: " + XLSX + "\r\n\r\n").getBytes(StandardCharsets.UTF_8));
+            writeWorkbook(body);
+            body.write(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8));
+
+            return request("/api/auth/upload-admins", superAdminToken)
+                    .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                    .POST(HttpRequest.BodyPublishers.ofByteArray(body.toByteArray()))
+                    .build();
+        }
+
+        private void writeWorkbook(ByteArrayOutputStream out) throws IOException {
+            List<String[]> rows = new ArrayList<>(uploadRows);
+            for (int r = 0; r < uploadRows; r++) {
+                long id = uploadedAdmins.incrementAndGet();
+                rows.add(RosterWorkbooks.inspector("uploaded-" + id, "Uploaded Admin " + id));
+            }
+            RosterWorkbooks.write(out, rows);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.demo.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencies (microseconds, 3 significant digits, up to one minute) and response codes of one
+ * scenario during one phase. Recording is lock-free, so every client thread writes directly.
+ */
+class ScenarioStats {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final String name;
+    private final Recorder recorder = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+    private final Map<Integer, LongAdder> statusCounts = new ConcurrentHashMap<>();
+    private final LongAdder failures = new LongAdder();
+
+    private Histogram histogram;
+
+    ScenarioStats(String name) {
+        this.name = name;
+    }
+
+    void record(long nanos, int statusCode) {
+        recorder.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(nanos), HIGHEST_TRACKABLE_MICROS));
+        statusCounts.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+        if (statusCode < 200 || statusCode >= 300) {
+            failures.increment();
+        }
+    }
+
+    /** Connection errors and timeouts: no status code, no latency sample. */
+    void recordError() {
+        statusCounts.computeIfAbsent(0, code -> new LongAdder()).increment();
+        failures.increment();
+    }
+
+    /** Call once, after the phase's clients have stopped. */
+    Histogram finish() {
+        histogram = recorder.getIntervalHistogram();
+        return histogram;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    Histogram getHistogram() {
+        return histogram;
+    }
+
+    long getFailures() {
+        return failures.sum();
+    }
+
+    Map<Integer, Long> getStatusCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statusCounts.forEach((code, count) -> counts.put(code, count.sum()));
+        return counts;
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.demo.repository;
+
+import com.example.demo.UserFixtures;
+import com.example.demo.model.Admin;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs H2 EXPLAIN on the SQL Hibernate actually generates for the hot repository queries, to prove
+ * the migration's indexes are used rather than a table scan.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:index-usage;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.example.demo.repository.RepositoryIndexUsageTests$RecordingInspector",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class RepositoryIndexUsageTests {
+
+    private static final String ADMIN_ID = "index-admin";
+
+    public static class RecordingInspector implements StatementInspector {
+
+        static final List<String> statements = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            statements.add(sql);
+            return sql;
+        }
+    }
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Admin admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = UserFixtures.adminWithUsers(adminRepository, userRepository, ADMIN_ID, 1, i -> "indexed-user");
+        RecordingInspector.statements.clear();
+    }
+
+    @Test
+    void loginLookupUsesAdminNameIndex() {
+        adminRepository.findByName("index-admin Name");
+
+        assertThat(plan(lastSelect("admins"), "index-admin Name")).contains("IX_ADMINS_NAME");
+    }
+
+    @Test
+    void userLookupUsesAdminUsernameIndex() {
+        userRepository.findByAdminAndUsername(admin, "indexed-user");
+
+        assertThat(plan(lastSelect("users"), admin.getId(), "indexed-user")).contains("UX_USERS_ADMIN_USERNAME");
+    }
+
+    @Test
+    void singleStatementEditAndDeleteUseAdminUsernameIndex() {
+        userRepository.updateRankAndArea(ADMIN_ID, "nobody", "Inspector", "East", LocalDateTime.now());
+        userRepository.deleteByAdminIdAndUsername(ADMIN_ID, "nobody");
+
+        String update = last("update users");
+        String delete = last("delete from users");
+        assertThat(plan(update, "Inspector", "East", LocalDateTime.now(), "nobody", ADMIN_ID))
+                .contains("UX_USERS_ADMIN_USERNAME");
+        assertThat(plan(delete, "nobody", ADMIN_ID)).contains("UX_USERS_ADMIN_USERNAME");
+    }
+
+    @Test
+    void usernameKeysetPageUsesAdminUsernameIndex() {
+        userRepository.findPageByUsername(admin, "", 0L, Limit.of(11));
+
+        assertThat(plan(lastSelect("users"), admin.getId(), "", "", 0L, 11))
+                .contains("UX_USERS_ADMIN_USERNAME");
+    }
+
+    private static String lastSelect(String table) {
+        return last("select", " from " + table + " ");
+    }
+
+    private static String last(String prefix) {
+        return last(prefix, "");
+    }
+
+    private static String last(String prefix, String fragment) {
+        List<String> statements = RecordingInspector.statements;
+        for (int i = statements.size() - 1; i >= 0; i--) {
+            String sql = statements.get(i);
+            if (sql.startsWith(prefix) && sql.contains(fragment)) {
+                return sql;
+            }
+        }
+        throw new AssertionError("No '" + prefix + "' statement recorded: " + statements);
+    }
+
+    private String plan(String sql, Object... parameters) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, parameters);
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.demo.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthRateLimiterTests {
+
+    @Test
+    void requestsRejectedByTheirIpDoNotUseUpTheUsernamesTokens() {
+        AuthRateLimiter limiter = limiter(new MockEnvironment()
+                .withProperty("app.rate-limit.login.username-capacity", "2")
+                .withProperty("app.rate-limit.login.ip-capacity", "1"));
+
+        assertThat(limiter.tryAcquire(AuthRateLimiter.LOGIN, "ravi", "10.0.0.1")).isZero();
+        // The attacker's IP is out of tokens: rejected before the username bucket is touched
+        assertThat(limiter.tryAcquire(AuthRateLimiter.LOGIN, "ravi", "10.0.0.1")).isPositive();
+        assertThat(limiter.tryAcquire(AuthRateLimiter.LOGIN, "ravi", "10.0.0.1")).isPositive();
+
+        // So the real user, from another IP, still has the username's second token
+        assertThat(limiter.tryAcquire(AuthRateLimiter.LOGIN, "Ravi", "10.0.0.2")).isZero();
+        assertThat(limiter.tryAcquire(AuthRateLimiter.LOGIN, "ravi", "10.0.0.3")).isPositive();
+    }
+
+    @Test
+    void loopbackClientsGetNoIpBucket() {
+        AuthRateLimiter limiter = limiter(new MockEnvironment());
+
+        assertThat(limiter.clientIp(request("127.0.0.1", null))).isNull();
+        assertThat(limiter.clientIp(request("0:0:0:0:0:0:0:1", null))).isNull();
+        assertThat(limiter.clientIp(request("10.0.0.1", null))).isEqualTo("10.0.0.1");
+
+        AuthRateLimiter everyAddress = limiter(new MockEnvironment()
+                .withProperty("app.rate-limit.ip.skip-loopback", "false"));
+        assertThat(everyAddress.clientIp(request("127.0.0.1", null))).isEqualTo("127.0.0.1");
+
+        AuthRateLimiter noIp = limiter(new MockEnvironment().withProperty("app.rate-limit.ip.enabled", "false"));
+        assertThat(noIp.clientIp(request("10.0.0.1", null))).isNull();
+    }
+
+    @Test
+    void forwardedForIsOnlyReadFromTrustedProxies() {
+        AuthRateLimiter limiter = limiter(new MockEnvironment()
+                .withProperty("app.rate-limit.ip.trusted-proxies", "10.0.0.5, 10.0.0.6"));
+
+        // Right to left past the trusted hops; the client's own "1.1.1.1" is not believed
+        assertThat(limiter.clientIp(request("10.0.0.5", "1.1.1.1, 203.0.113.7, 10.0.0.6"))).isEqualTo("203.0.113.7");
+        assertThat(limiter.clientIp(request("10.0.0.5", null))).isEqualTo("10.0.0.5");
+        // A client talking to the backend directly cannot pick its bucket
+        assertThat(limiter.clientIp(request("198.51.100.1", "203.0.113.7"))).isEqualTo("198.51.100.1");
+        // A local reverse proxy forwarding a remote client
+        AuthRateLimiter localProxy = limiter(new MockEnvironment()
+                .withProperty("app.rate-limit.ip.trusted-proxies", "127.0.0.1"));
+        assertThat(localProxy.clientIp(request("127.0.0.1", "203.0.113.7"))).isEqualTo("203.0.113.7");
+        assertThat(localProxy.clientIp(request("127.0.0.1", null))).isNull();
+    }
+
+    private static AuthRateLimiter limiter(MockEnvironment environment) {
+        AuthRateLimiter limiter = new AuthRateLimiter();
+        ReflectionTestUtils.setField(limiter, "environment", environment);
+        limiter.init();
+        return limiter;
+    }
+
+    private static MockHttpServletRequest request(String remoteAddr, String forwardedFor) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr(remoteAddr);
+        if (forwardedFor != null) {
+            request.addHeader("X-Forwarded-For", forwardedFor);
+        }
+        return request;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.demo.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenAuthenticationFilterTests {
+
+    private final TokenService tokens = TokenServiceTests.tokenService("filter-secret", 480);
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void validTokenAuthenticatesWithItsRole() throws Exception {
+        Authentication authentication = filter("Bearer " + tokens.issue("prerana", "SUPER_ADMIN"));
+
+        assertThat(authentication).isNotNull();
+        assertThat(((TokenService.TokenClaims) authentication.getPrincipal()).adminId()).isEqualTo("prerana");
+        assertThat(authentication.getAuthorities()).extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_SUPER_ADMIN");
+    }
+
+    @Test
+    void tamperedExpiredAndMissingTokensLeaveTheRequestAnonymous() throws Exception {
+        String token = tokens.issue("ravi", "ADMIN");
+        String tampered = token.substring(0, token.indexOf('.') - 1) + "x" + token.substring(token.indexOf('.'));
+        String expired = TokenServiceTests.tokenService("filter-secret", 0).issue("ravi", "ADMIN");
+
+        assertThat(filter("Bearer " + tampered)).isNull();
+        assertThat(filter("Bearer " + expired)).isNull();
+        assertThat(filter("Basic " + token)).isNull();
+        assertThat(filter(null)).isNull();
+    }
+
+    private Authentication filter(String authorization) throws Exception {
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/auth/admin-users");
+        if (authorization != null) {
+            request.addHeader("Authorization", authorization);
+        }
+        MockFilterChain chain = new MockFilterChain();
+
+        new TokenAuthenticationFilter(tokens).doFilter(request, new MockHttpServletResponse(), chain);
+
+        // The request always continues; unauthenticated ones are turned away by the authorization rules
+        assertThat(chain.getRequest()).isSameAs(request);
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+}
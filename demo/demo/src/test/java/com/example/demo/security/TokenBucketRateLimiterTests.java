@@ -0,0 +1,82 @@
+package com.example.demo.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenBucketRateLimiterTests {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    @Test
+    void allowsTheBurstThenRejectsUntilATokenRefills() {
+        // 3 tokens, one more every 20 seconds
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(3, 3, 100, now::get);
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("ravi")).isZero();
+        }
+        long wait = limiter.tryAcquire("ravi");
+        assertThat(wait).isEqualTo(TimeUnit.SECONDS.toNanos(20));
+        assertThat(limiter.getRejectedCount()).isEqualTo(1);
+
+        // Other keys are independent
+        assertThat(limiter.tryAcquire("anil")).isZero();
+
+        advance(TimeUnit.SECONDS.toNanos(20));
+        assertThat(limiter.tryAcquire("ravi")).isZero();
+        assertThat(limiter.tryAcquire("ravi")).isPositive();
+
+        // A full refill restores the whole burst, never more
+        advance(TimeUnit.MINUTES.toNanos(5));
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("ravi")).isZero();
+        }
+        assertThat(limiter.tryAcquire("ravi")).isPositive();
+    }
+
+    @Test
+    void evictionDropsOnlyFullyRefilledBuckets() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 2, 100, now::get);
+        limiter.tryAcquire("idle");
+        advance(TimeUnit.SECONDS.toNanos(30));
+        limiter.tryAcquire("busy");
+        limiter.tryAcquire("busy");
+
+        advance(TimeUnit.SECONDS.toNanos(1));
+        limiter.evictIdle();
+
+        assertThat(limiter.getTrackedKeys()).isEqualTo(1);
+        // The busy bucket kept its state
+        assertThat(limiter.tryAcquire("busy")).isPositive();
+    }
+
+    @Test
+    void keysBeyondTheLimitShareOneOverflowBucketInsteadOfPassing() {
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(2, 2, 3, now::get);
+        for (String key : new String[]{"a", "b", "c"}) {
+            assertThat(limiter.tryAcquire(key)).isZero();
+        }
+
+        // A spray of new keys gets the burst of a single key between them
+        assertThat(limiter.tryAcquire("d")).isZero();
+        assertThat(limiter.tryAcquire("e")).isZero();
+        assertThat(limiter.tryAcquire("f")).isPositive();
+        assertThat(limiter.tryAcquire("g")).isPositive();
+        assertThat(limiter.getTrackedKeys()).isEqualTo(3);
+        assertThat(limiter.getOverflowCount()).isEqualTo(4);
+
+        // Once the tracked buckets refill, the scheduled eviction makes room for new keys again
+        advance(TimeUnit.MINUTES.toNanos(1));
+        limiter.evictIdle();
+        assertThat(limiter.tryAcquire("h")).isZero();
+        assertThat(limiter.getTrackedKeys()).isEqualTo(1);
+    }
+
+    private void advance(long nanos) {
+        now.addAndGet(nanos);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.demo.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TokenServiceTests {
+
+    @Test
+    void issuedTokensVerifyWithTheirClaims() {
+        TokenService tokens = tokenService("secret-one", 480);
+
+        TokenService.TokenClaims claims = tokens.verify(tokens.issue("ravi", "ADMIN")).orElseThrow();
+
+        assertThat(claims.adminId()).isEqualTo("ravi");
+        assertThat(claims.role()).isEqualTo("ADMIN");
+        assertThat(claims.expiresAt()).isGreaterThan(System.currentTimeMillis() / 1000);
+    }
+
+    @Test
+    void tamperedOrForeignTokensAreRejected() {
+        TokenService tokens = tokenService("secret-one", 480);
+        String token = tokens.issue("ravi", "ADMIN");
+        String payload = token.substring(0, token.indexOf('.'));
+        String signature = token.substring(token.indexOf('.') + 1);
+
+        // Role escalation: same signature over a different payload
+        String decoded = new String(Base64.getUrlDecoder().decode(payload), StandardCharsets.UTF_8);
+        String escalated = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(decoded.replace("ADMIN|", "SUPER_ADMIN|").getBytes(StandardCharsets.UTF_8));
+        assertThat(tokens.verify(escalated + "." + signature)).isEmpty();
+
+        char last = signature.charAt(signature.length() - 1);
+        assertThat(tokens.verify(payload + "." + signature.substring(0, signature.length() - 1) + (last == 'A' ? 'B' : 'A')))
+                .isEmpty();
+        assertThat(tokenService("secret-two", 480).verify(token)).isEmpty();
+        assertThat(tokens.verify(payload)).isEmpty();
+        assertThat(tokens.verify("not.a.token")).isEmpty();
+        assertThat(tokens.verify("%%%.%%%")).isEmpty();
+        assertThat(tokens.verify(null)).isEmpty();
+    }
+
+    @Test
+    void expiredTokensAreRejected() {
+        TokenService tokens = tokenService("secret-one", 0);
+
+        assertThat(tokens.verify(tokens.issue("ravi", "ADMIN"))).isEmpty();
+    }
+
+    @Test
+    void revokedTokensAreRejectedWhileOthersStillWork() {
+        TokenService tokens = tokenService("secret-one", 480);
+        String revoked = tokens.issue("ravi", "ADMIN");
+        String other = tokens.issue("ravi", "ADMIN");
+
+        tokens.revoke(tokens.verify(revoked).orElseThrow());
+        tokens.purgeExpiredRevocations();
+
+        assertThat(tokens.verify(revoked)).isEmpty();
+        assertThat(tokens.verify(other)).isPresent();
+    }
+
+    @Test
+    void removedAdminsLoseEveryTokenIssuedBeforeTheRemoval() {
+        TokenService tokens = tokenService("secret-one", 480);
+        String first = tokens.issue("ravi", "ADMIN");
+        String second = tokens.issue("ravi", "ADMIN");
+        String otherAdmin = tokens.issue("kavya", "ADMIN");
+
+        tokens.revokeAll(List.of("ravi"));
+        tokens.purgeExpiredRevocations();
+
+        assertThat(tokens.verify(first)).isEmpty();
+        assertThat(tokens.verify(second)).isEmpty();
+        assertThat(tokens.verify(otherAdmin)).isPresent();
+    }
+
+    static TokenService tokenService(String secret, long ttlMinutes) {
+        TokenService tokens = new TokenService();
+        ReflectionTestUtils.setField(tokens, "configuredSecret", secret);
+        ReflectionTestUtils.setField(tokens, "ttlMinutes", ttlMinutes);
+        tokens.init();
+        return tokens;
+    }
+}
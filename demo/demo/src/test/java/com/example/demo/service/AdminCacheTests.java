@@ -0,0 +1,154 @@
+package com.example.demo.service;
+
+import com.example.demo.FastHashing;
+import com.example.demo.RosterWorkbooks;
+import com.example.demo.model.Admin;
+import com.example.demo.repository.AdminRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Admin lookups by admin id (natural-id cache) and by name (query cache): repeat reads are served
+ * from the second-level cache, and every write path, entity or bulk statement, is seen by the
+ * next read.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:admin-cache;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+@Import(FastHashing.class)
+class AdminCacheTests {
+
+    private static final AdminImportOptions SYNC = new AdminImportOptions(true, true);
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @TempDir
+    Path tempDir;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void repeatLookupsAreServedFromTheCache() {
+        saveAdmin("cached-admin", "Cached Admin", "Secret@123");
+        read("cached-admin", "Cached Admin");
+
+        statistics.clear();
+        Admin byAdminId = adminService.findByAdminId("cached-admin").orElseThrow();
+        Admin byName = adminService.findByName("Cached Admin").orElseThrow();
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(statistics.getNaturalIdCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(byAdminId.getName()).isEqualTo("Cached Admin");
+        assertThat(byName.getAdminId()).isEqualTo("cached-admin");
+    }
+
+    @Test
+    void upsertImportAndRosterDeactivationAreSeenByTheNextRead() throws IOException {
+        importRoster("roster-a", "Roster A", "roster-b", "Roster B");
+        read("roster-a", "Roster A");
+        read("roster-b", "Roster B");
+
+        // roster-a is renamed (entity update), roster-b left the roster (bulk UPDATE)
+        importRoster("roster-a", "Roster A Renamed");
+
+        Admin renamed = adminService.findByAdminId("roster-a").orElseThrow();
+        assertThat(renamed.getName()).isEqualTo("Roster A Renamed");
+        assertThat(adminService.findByName("Roster A Renamed")).isPresent();
+        assertThat(adminService.findByName("Roster A")).isEmpty();
+        assertThat(adminService.findByAdminId("roster-b").orElseThrow().getIsActive()).isFalse();
+        assertThat(adminService.findByName("Roster B").orElseThrow().getIsActive()).isFalse();
+    }
+
+    @Test
+    void changePasswordIsSeenByTheNextRead() {
+        saveAdmin("changing-admin", "Changing Admin", "Secret@123");
+        read("changing-admin", "Changing Admin");
+
+        assertThat(adminService.changePassword("changing-admin", "Secret@123", "Changed@456").get("status"))
+                .isEqualTo("success");
+
+        for (Admin admin : read("changing-admin", "Changing Admin")) {
+            assertThat(passwordEncoder.matches("Changed@456", admin.getPassword())).isTrue();
+            assertThat(admin.getPasswordChanged()).isTrue();
+            assertThat(admin.getFirstLogin()).isFalse();
+        }
+    }
+
+    @Test
+    void passwordResetIsSeenByTheNextRead() {
+        Admin saved = saveAdmin("reset-admin", "Reset Admin", "Secret@123");
+        saved.setPasswordChanged(true);
+        saved.setFirstLogin(false);
+        adminRepository.save(saved);
+        read("reset-admin", "Reset Admin");
+
+        // A bulk UPDATE, not an entity write
+        adminService.resetAdminPasswords(List.of("reset-admin"), "Temporary@789");
+
+        for (Admin admin : read("reset-admin", "Reset Admin")) {
+            assertThat(passwordEncoder.matches("Temporary@789", admin.getPassword())).isTrue();
+            assertThat(admin.getPasswordChanged()).isFalse();
+            assertThat(admin.getFirstLogin()).isTrue();
+        }
+    }
+
+    // Both lookups, each in its own session; also fills the caches
+    private List<Admin> read(String adminId, String name) {
+        return List.of(adminService.findByAdminId(adminId).orElseThrow(), adminService.findByName(name).orElseThrow());
+    }
+
+    private Admin saveAdmin(String adminId, String name, String password) {
+        Admin admin = new Admin();
+        admin.setAdminId(adminId);
+        admin.setName(name);
+        admin.setRank("Inspector");
+        admin.setAreaOfWorking("North");
+        admin.setPassword(passwordEncoder.encode(password));
+        return adminRepository.save(admin);
+    }
+
+    // Pairs of admin id and name
+    private void importRoster(String... idsAndNames) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        for (int i = 0; i < idsAndNames.length / 2; i++) {
+            rows.add(RosterWorkbooks.inspector(idsAndNames[2 * i], idsAndNames[2 * i + 1]));
+        }
+        File file = RosterWorkbooks.write(tempDir, rows);
+        adminService.importAdminsFromExcel(file, SYNC, result -> { });
+    }
+}
@@ -0,0 +1,150 @@
+package com.example.demo.service;
+
+import com.example.demo.RosterWorkbooks;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdminExcelReaderTests {
+
+    private final AdminExcelReader reader = new AdminExcelReader();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void numbersAreTruncatedToWholeNumbers() {
+        assertThat(AdminExcelReader.getCellValue("n", "42.9", false)).isEqualTo("42");
+        assertThat(AdminExcelReader.getCellValue("n", "-3.5", false)).isEqualTo("-3");
+        assertThat(AdminExcelReader.getCellValue("n", "1.5E3", false)).isEqualTo("1500");
+        assertThat(AdminExcelReader.getCellValue("n", "", false)).isEmpty();
+    }
+
+    @Test
+    void booleansFormulasAndStringsAreCoercedLikeTheWorkbookImport() {
+        assertThat(AdminExcelReader.getCellValue("b", "1", false)).isEqualTo("true");
+        assertThat(AdminExcelReader.getCellValue("b", "0", false)).isEqualTo("false");
+        assertThat(AdminExcelReader.getCellValue("str", "cached", true)).isEmpty();
+        assertThat(AdminExcelReader.getCellValue("n", "2", true)).isEmpty();
+        assertThat(AdminExcelReader.getCellValue("s", "  padded  ", false)).isEqualTo("padded");
+        assertThat(AdminExcelReader.getCellValue("inlineStr", " inline ", false)).isEqualTo("inline");
+        assertThat(AdminExcelReader.getCellValue("e", "#DIV/0!", false)).isEmpty();
+        assertThat(AdminExcelReader.getCellValue("n", null, false)).isEmpty();
+    }
+
+    @Test
+    void readsAWorkbookWrittenByPoi() throws IOException {
+        List<ReadRow> rows = read(poiWorkbook());
+
+        // The header is row 0 like any other; skipping it is up to the caller
+        assertThat(rows).extracting(ReadRow::rowIndex).containsExactly(0, 1, 2);
+        assertThat(rows.get(0).cells()).containsExactly("Admin ID", "Name", "Rank", "Area of Working");
+        assertThat(rows.get(1).cells()).containsExactly("1001", "Shared Name", "true", "");
+        // Shared strings repeated across rows resolve to the same text
+        assertThat(rows.get(2).cells()).containsExactly("Shared Name", "1002", "false", "");
+        assertThat(rows).extracting(ReadRow::error).containsOnlyNulls();
+    }
+
+    @Test
+    void readsInlineStringsAndRowsAndCellsWithoutReferences() throws IOException {
+        File file = withSheet(poiWorkbook(), """
+                <row r="1"><c r="A1" t="s"><v>0</v></c></row>
+                <row><c t="inlineStr"><is><t> inline-1 </t></is></c><c t="inlineStr"><is><r><t>Split </t></r><r><t>Name</t></r></is></c></row>
+                <row r="5"><c r="B5" t="s"><v>1</v></c><c t="b"><v>1</v></c></row>
+                <row><c><v>7.99</v></c><c r="D6" t="inlineStr"><is><t>East</t></is></c></row>
+                """);
+
+        List<ReadRow> rows = read(file);
+
+        assertThat(rows).extracting(ReadRow::rowIndex).containsExactly(0, 1, 4, 5);
+        assertThat(rows.get(0).cells()).containsExactly("Admin ID", "", "", "");
+        assertThat(rows.get(1).cells()).containsExactly("inline-1", "Split Name", "", "");
+        // A cell without a reference follows the previous cell of its row
+        assertThat(rows.get(2).cells()).containsExactly("", "Name", "true", "");
+        assertThat(rows.get(3).cells()).containsExactly("7", "", "", "East");
+    }
+
+    @Test
+    void malformedNumberFailsOnlyItsOwnRow() throws IOException {
+        File file = withSheet(poiWorkbook(), """
+                <row r="1"><c r="A1" t="s"><v>0</v></c></row>
+                <row r="2"><c r="A2"><v>not-a-number</v></c><c r="B2" t="inlineStr"><is><t>Bad</t></is></c></row>
+                <row r="3"><c r="A3" t="s"><v>oops</v></c></row>
+                <row r="4"><c r="A4"><v>1003</v></c></row>
+                """);
+
+        List<ReadRow> rows = read(file);
+
+        assertThat(rows).extracting(ReadRow::rowIndex).containsExactly(0, 1, 2, 3);
+        assertThat(rows.get(1).error()).isEqualTo("Invalid value in column A: not-a-number");
+        assertThat(rows.get(1).cells()).containsExactly("", "Bad", "", "");
+        assertThat(rows.get(2).error()).isEqualTo("Invalid value in column A: oops");
+        assertThat(rows.get(3).error()).isNull();
+        assertThat(rows.get(3).cells()).containsExactly("1003", "", "", "");
+    }
+
+    private List<ReadRow> read(File file) throws IOException {
+        List<ReadRow> rows = new ArrayList<>();
+        reader.read(file, 4, (rowIndex, cells, error) -> rows.add(new ReadRow(rowIndex, cells, error)));
+        return rows;
+    }
+
+    // Shared strings, in order: "Admin ID", "Name", "Rank", "Area of Working", "Shared Name"
+    private File poiWorkbook() throws IOException {
+        File file = Files.createTempFile(tempDir, "admins-", ".xlsx").toFile();
+        try (XSSFWorkbook workbook = RosterWorkbooks.withHeader(); OutputStream out = Files.newOutputStream(file.toPath())) {
+            Sheet sheet = workbook.getSheetAt(0);
+            Row first = sheet.createRow(1);
+            first.createCell(0).setCellValue(1001.7);
+            first.createCell(1).setCellValue("  Shared Name ");
+            first.createCell(2).setCellValue(true);
+            first.createCell(3).setCellFormula("1+1");
+            Row second = sheet.createRow(2);
+            second.createCell(0).setCellValue("  Shared Name ");
+            second.createCell(1).setCellValue(1002);
+            second.createCell(2).setCellValue(false);
+            workbook.write(out);
+        }
+        return file;
+    }
+
+    /** The same package with its sheet data replaced, for cell forms POI itself does not write. */
+    private File withSheet(File workbook, String rows) throws IOException {
+        String sheetXml = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>"
+                + rows + "</sheetData></worksheet>";
+        File file = Files.createTempFile(tempDir, "handwritten-", ".xlsx").toFile();
+        try (ZipInputStream in = new ZipInputStream(Files.newInputStream(workbook.toPath()));
+             ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(file.toPath()))) {
+            for (ZipEntry entry = in.getNextEntry(); entry != null; entry = in.getNextEntry()) {
+                out.putNextEntry(new ZipEntry(entry.getName()));
+                if (entry.getName().equals("xl/worksheets/sheet1.xml")) {
+                    out.write(sheetXml.getBytes(StandardCharsets.UTF_8));
+                } else {
+                    in.transferTo(out);
+                }
+                out.closeEntry();
+            }
+        }
+        return file;
+    }
+
+    private record ReadRow(int rowIndex, String[] cells, String error) {
+    }
+}
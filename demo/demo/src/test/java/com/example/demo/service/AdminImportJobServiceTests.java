@@ -0,0 +1,196 @@
+package com.example.demo.service;
+
+import com.example.demo.RosterWorkbooks;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Background import jobs with the import itself scripted: it reports a number of rows, pauses
+ * until the test resumes it, then either finishes with one more row or fails.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:admin-import-jobs;DB_CLOSE_DELAY=-1",
+        "app.import.jobs.pool-size=1",
+        "app.import.jobs.queue-capacity=1",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class AdminImportJobServiceTests {
+
+    private static final int SHEET_ROWS = 300;
+
+    @TestConfiguration
+    static class ScriptedImport {
+        @Bean
+        @Primary
+        PausingAdminService pausingAdminService() {
+            return new PausingAdminService();
+        }
+    }
+
+    @Autowired
+    private AdminImportJobService adminImportJobService;
+
+    @Autowired
+    private PausingAdminService imports;
+
+    @BeforeEach
+    void setUp() {
+        imports.reset(0, false);
+    }
+
+    @Test
+    void runningJobReportsProgressAndStreamsTheResultsWrittenSoFar() throws Exception {
+        imports.reset(150, false);
+        AdminImportJob job = adminImportJobService.submit(sheet(), AdminImportOptions.CREATE_ONLY, "prerana");
+        assertThat(imports.awaitPause()).isTrue();
+
+        Map<String, Object> running = job.toStatusMap();
+        assertThat(running.get("status")).isEqualTo("RUNNING");
+        assertThat(running.get("rowsProcessed")).isEqualTo(150L);
+        assertThat(running.get("estimatedRows")).isEqualTo(SHEET_ROWS);
+        assertThat(running).containsKey("etaSeconds");
+
+        // Complete lines are published every 100 rows while the job runs
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        CompletableFuture<Void> stream = CompletableFuture.runAsync(() -> streamResults(job, streamed));
+        for (int i = 0; i < 100 && lines(streamed) < 100; i++) {
+            Thread.sleep(50);
+        }
+        assertThat(lines(streamed)).isEqualTo(100);
+        assertThat(stream).isNotDone();
+
+        imports.resume();
+        stream.get(10, TimeUnit.SECONDS);
+
+        assertThat(lines(streamed)).isEqualTo(151);
+        assertThat(streamed.toString()).startsWith("{").contains("\"adminId\":\"admin-150\"");
+        Map<String, Object> completed = job.toStatusMap();
+        assertThat(completed.get("status")).isEqualTo("COMPLETED");
+        assertThat(completed.get("success")).isEqualTo(151L);
+        assertThat(completed).doesNotContainKey("etaSeconds");
+    }
+
+    @Test
+    void failedJobStillPublishesTheRowsItProcessed() throws Exception {
+        imports.reset(30, true);
+        AdminImportJob job = adminImportJobService.submit(sheet(), AdminImportOptions.CREATE_ONLY, "prerana");
+        imports.resume();
+
+        ByteArrayOutputStream streamed = new ByteArrayOutputStream();
+        CompletableFuture.runAsync(() -> streamResults(job, streamed)).get(10, TimeUnit.SECONDS);
+
+        assertThat(job.getStatus()).isEqualTo(AdminImportJob.Status.FAILED);
+        assertThat(job.toStatusMap().get("error")).isEqualTo("Error processing file: Database unavailable");
+        assertThat(lines(streamed)).isEqualTo(30);
+    }
+
+    @Test
+    void submissionsBeyondThePoolAndItsQueueAreRejected() throws Exception {
+        imports.reset(1, false);
+        AdminImportJob running = adminImportJobService.submit(sheet(), AdminImportOptions.CREATE_ONLY, "prerana");
+        assertThat(imports.awaitPause()).isTrue();
+        AdminImportJob queued = adminImportJobService.submit(sheet(), AdminImportOptions.CREATE_ONLY, "prerana");
+
+        assertThatThrownBy(() -> adminImportJobService.submit(sheet(), AdminImportOptions.CREATE_ONLY, "prerana"))
+                .isInstanceOf(TaskRejectedException.class);
+        assertThat(queued.getStatus()).isEqualTo(AdminImportJob.Status.QUEUED);
+
+        imports.resume();
+        for (int i = 0; i < 100 && !(running.isFinished() && queued.isFinished()); i++) {
+            Thread.sleep(50);
+        }
+        assertThat(running.getStatus()).isEqualTo(AdminImportJob.Status.COMPLETED);
+        assertThat(queued.getStatus()).isEqualTo(AdminImportJob.Status.COMPLETED);
+    }
+
+    private void streamResults(AdminImportJob job, ByteArrayOutputStream out) {
+        try {
+            adminImportJobService.streamResults(job, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long lines(ByteArrayOutputStream out) {
+        return out.toString().chars().filter(c -> c == '\n').count();
+    }
+
+    // Only the size matters (for the ETA); the scripted import never reads the rows
+    private static MockMultipartFile sheet() throws IOException {
+        List<String[]> rows = new ArrayList<>(SHEET_ROWS);
+        for (int i = 1; i <= SHEET_ROWS; i++) {
+            rows.add(RosterWorkbooks.inspector("admin-" + i, "Admin " + i));
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        RosterWorkbooks.write(out, rows);
+        return new MockMultipartFile("file", "admins.xlsx", null, out.toByteArray());
+    }
+
+    static class PausingAdminService extends AdminService {
+
+        private volatile int rowsBeforePause;
+        private volatile boolean failAfterPause;
+        private volatile CountDownLatch paused;
+        private volatile CountDownLatch resume;
+
+        // Public: the bean is a transactional proxy, which only hands public calls to this instance
+        public void reset(int rowsBeforePause, boolean failAfterPause) {
+            this.rowsBeforePause = rowsBeforePause;
+            this.failAfterPause = failAfterPause;
+            this.paused = new CountDownLatch(1);
+            this.resume = new CountDownLatch(1);
+        }
+
+        public boolean awaitPause() throws InterruptedException {
+            return paused.await(10, TimeUnit.SECONDS);
+        }
+
+        public void resume() {
+            resume.countDown();
+        }
+
+        @Override
+        public void importAdminsFromExcel(File file, AdminImportOptions options,
+                                          Consumer<Map<String, String>> sink) throws IOException {
+            for (int i = 0; i < rowsBeforePause; i++) {
+                sink.accept(Map.of("status", "success", "adminId", "admin-" + i));
+            }
+            paused.countDown();
+            try {
+                if (!resume.await(10, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("Never resumed");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            if (failAfterPause) {
+                throw new IllegalStateException("Database unavailable");
+            }
+            sink.accept(Map.of("status", "success", "adminId", "admin-" + rowsBeforePause));
+        }
+    }
+}
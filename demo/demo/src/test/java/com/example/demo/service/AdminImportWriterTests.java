@@ -0,0 +1,127 @@
+package com.example.demo.service;
+
+import com.example.demo.FastHashing;
+import com.example.demo.model.Admin;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:admin-import;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+        "app.import.chunk-size=500"
+})
+// Keep BCrypt cheap so the test measures the write path, not hashing
+@Import(FastHashing.class)
+class AdminImportWriterTests {
+
+    private static final int ROWS = 10_000;
+    private static final int CHUNKS = ROWS / 500;
+    private static final int SEQUENCE_CALLS = ROWS / 50;
+
+    @Autowired
+    private AdminImportWriter adminImportWriter;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void tenThousandRowImportUsesOneExistenceQueryAndOneInsertBatchPerChunk() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<AdminImportRow> rows = rows("bulk-");
+        statistics.clear();
+        adminImportWriter.write(rows, "Admin@123456");
+
+        assertThat(rows).allSatisfy(row -> assertThat(row.getResult()).containsEntry("status", "success"));
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ROWS);
+        // existence query + insert batch per chunk, plus pooled sequence fetches
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(CHUNKS * 2 + SEQUENCE_CALLS + 1);
+
+        // Re-importing the same sheet only costs the existence queries
+        List<AdminImportRow> again = rows("bulk-");
+        statistics.clear();
+        adminImportWriter.write(again, "Admin@123456");
+
+        assertThat(again).allSatisfy(row -> assertThat(row.getResult()).containsEntry("status", "skipped"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(CHUNKS);
+    }
+
+    @Test
+    void unchangedUpsertReImportOnlyComparesHashes() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        List<AdminImportRow> rows = rows("upsert-");
+        adminImportWriter.upsert(rows, "Admin@123456", false);
+        assertThat(rows).allSatisfy(row -> assertThat(row.getResult()).containsEntry("status", "success"));
+
+        // Same roster again: one hash query per chunk, nothing loaded or written
+        List<AdminImportRow> again = rows("upsert-");
+        statistics.clear();
+        adminImportWriter.upsert(again, "Admin@123456", false);
+
+        assertThat(again).allSatisfy(row -> assertThat(row.getResult()).containsEntry("status", "unchanged"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(CHUNKS);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getEntityUpdateCount()).isZero();
+
+        // Only the changed rows are loaded and updated
+        List<AdminImportRow> edited = rows("upsert-");
+        edited.get(7).getAdmin().setRank("Superintendent");
+        edited.get(4_321).getAdmin().setAreaOfWorking("South");
+        edited.get(9_999).getAdmin().setName("Renamed");
+        statistics.clear();
+        adminImportWriter.upsert(edited, "Admin@123456", false);
+
+        assertThat(statistics.getEntityLoadCount()).isEqualTo(3);
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(3);
+        assertThat(statistics.getEntityInsertCount()).isZero();
+        assertThat(edited.stream().filter(row -> "updated".equals(row.getResult().get("status"))))
+                .extracting(row -> row.getAdmin().getAdminId())
+                .containsExactly("upsert-7", "upsert-4321", "upsert-9999");
+    }
+
+    @Test
+    void duplicateIdsWithinOneChunkAreSkipped() {
+        List<AdminImportRow> rows = new ArrayList<>();
+        rows.add(row("dup-1"));
+        rows.add(row("dup-1"));
+
+        adminImportWriter.write(rows, "Admin@123456");
+
+        assertThat(rows.get(0).getResult()).containsEntry("status", "success");
+        assertThat(rows.get(1).getResult()).containsEntry("status", "skipped");
+    }
+
+    private static List<AdminImportRow> rows(String prefix) {
+        List<AdminImportRow> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(row(prefix + i));
+        }
+        return rows;
+    }
+
+    private static AdminImportRow row(String adminId) {
+        Admin admin = new Admin();
+        admin.setAdminId(adminId);
+        admin.setName("Name " + adminId);
+        admin.setRank("Inspector");
+        admin.setAreaOfWorking("North");
+        admin.setPasswordChanged(false);
+        admin.setFirstLogin(true);
+        admin.setIsActive(true);
+        return new AdminImportRow(admin, new HashMap<>());
+    }
+}
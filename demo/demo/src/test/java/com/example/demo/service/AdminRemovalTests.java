@@ -0,0 +1,124 @@
+package com.example.demo.service;
+
+import com.example.demo.UserFixtures;
+import com.example.demo.model.Admin;
+import com.example.demo.repository.AdminRepository;
+import com.example.demo.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Soft and hard admin removal on an admin with thousands of users: a fixed handful of statements,
+ * and not one User (or Admin) entity loaded.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:admin-removal;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class AdminRemovalTests {
+
+    private static final int USERS = 5_000;
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private UserAggregateService userAggregateService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        for (int i = 0; i < 100 && !(userSearchIndex.isReady() && userAggregateService.isReady()); i++) {
+            Thread.sleep(100);
+        }
+    }
+
+    @Test
+    void hardRemovalDeletesAdminsAndUsersWithSetBasedStatements() {
+        Admin doomed = adminWithUsers("doomed-admin");
+        Admin kept = adminWithUsers("kept-admin");
+        // One user through the service, to look for in the search index after the removal
+        userService.addUserToAdmin("doomed-admin", "indexed", "Secret@123", "Constable", "North Zone");
+        assertThat(userSearchIndex.search(doomed.getId(), "indexed", 10)).hasSize(1);
+
+        statistics.clear();
+        Map<String, Object> response = adminService.removeAdmins(List.of("doomed-admin", "missing-admin", "prerana"), true);
+
+        // Status lookup, DELETE users, DELETE admins
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+
+        assertThat(response.get("removed")).isEqualTo(1);
+        assertThat(response.get("usersDeleted")).isEqualTo(USERS + 1);
+        assertThat(statuses(response)).containsExactlyInAnyOrder("deleted", "error", "error");
+        assertThat(adminRepository.findByAdminId("doomed-admin")).isEmpty();
+        assertThat(userCount(doomed)).isZero();
+        assertThat(userCount(kept)).isEqualTo(USERS);
+        assertThat(userSearchIndex.search(doomed.getId(), "indexed", 10)).isEmpty();
+        assertThat(userAggregateService.summary(doomed.getId()).get("total")).isEqualTo(0L);
+    }
+
+    @Test
+    void softRemovalIsOneUpdateAndKeepsTheUsers() {
+        Admin admin = adminWithUsers("resting-admin");
+
+        statistics.clear();
+        Map<String, Object> response = adminService.removeAdmins(List.of("resting-admin"), false);
+
+        // Status lookup, UPDATE admins
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statuses(response)).containsExactly("deactivated");
+        assertThat(adminRepository.findByAdminId("resting-admin").orElseThrow().getIsActive()).isFalse();
+        assertThat(userCount(admin)).isEqualTo(USERS);
+
+        assertThat(statuses(adminService.removeAdmins(List.of("resting-admin"), false))).containsExactly("unchanged");
+    }
+
+    private Admin adminWithUsers(String adminId) {
+        return UserFixtures.adminWithUsers(adminRepository, userRepository, adminId, USERS, i -> "user-" + i);
+    }
+
+    private int userCount(Admin admin) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE admin_id = ?", Integer.class, admin.getId());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> statuses(Map<String, Object> response) {
+        return ((List<Map<String, String>>) response.get("results")).stream().map(result -> result.get("status")).toList();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.demo.service;
+
+import com.example.demo.FastHashing;
+import com.example.demo.RosterWorkbooks;
+import com.example.demo.model.Admin;
+import com.example.demo.repository.AdminRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:admin-roster;DB_CLOSE_DELAY=-1",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+@Import(FastHashing.class)
+class AdminRosterImportTests {
+
+    private static final AdminImportOptions SYNC = new AdminImportOptions(true, true);
+
+    @Autowired
+    private AdminService adminService;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void rosterSyncDeactivatesMissingAdminsAndReactivatesReturningOnes() throws IOException {
+        importRoster(SYNC, "roster-1", "roster-2", "roster-3");
+
+        // roster-2 left; a row with missing fields still counts as listed
+        List<Map<String, String>> results = importRoster(SYNC, "roster-1", "roster-3!");
+
+        assertThat(statusOf(results, "roster-2")).isEqualTo("deactivated");
+        assertThat(statusOf(results, "roster-3")).isEqualTo("error");
+        assertThat(active("roster-1")).isTrue();
+        assertThat(active("roster-2")).isFalse();
+        assertThat(active("roster-3")).isTrue();
+        // The seeded super admin is never on the roster and is never deactivated
+        assertThat(active("prerana")).isTrue();
+
+        results = importRoster(SYNC, "roster-1", "roster-2", "roster-3");
+
+        assertThat(statusOf(results, "roster-2")).isEqualTo("updated");
+        assertThat(statusOf(results, "roster-1")).isEqualTo("unchanged");
+        assertThat(active("roster-2")).isTrue();
+    }
+
+    @Test
+    void emptyRosterDeactivatesNobody() throws IOException {
+        importRoster(SYNC, "kept-1");
+
+        List<Map<String, String>> results = importRoster(SYNC);
+
+        assertThat(results).isEmpty();
+        assertThat(active("kept-1")).isTrue();
+    }
+
+    // An id ending in '!' is written without its name, so the row fails validation
+    private List<Map<String, String>> importRoster(AdminImportOptions options, String... adminIds) throws IOException {
+        List<String[]> rows = new ArrayList<>();
+        for (String listed : adminIds) {
+            boolean invalid = listed.endsWith("!");
+            String adminId = invalid ? listed.substring(0, listed.length() - 1) : listed;
+            rows.add(RosterWorkbooks.inspector(adminId, invalid ? "" : "Name " + adminId));
+        }
+        File file = RosterWorkbooks.write(tempDir, rows);
+
+        List<Map<String, String>> results = new ArrayList<>();
+        adminService.importAdminsFromExcel(file, options, result -> results.add(new HashMap<>(result)));
+        return results;
+    }
+
+    private static String statusOf(List<Map<String, String>> results, String adminId) {
+        return results.stream()
+                .filter(result -> adminId.equals(result.get("adminId")))
+                .map(result -> result.get("status"))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private boolean active(String adminId) {
+        return adminRepository.findByAdminId(adminId).map(Admin::getIsActive).orElseThrow();
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdminUserIndexTests {
+
+    private static final String[] RANKS = {"Constable", "Head Constable", "Inspector", "Sub Inspector"};
+    private static final String[] AREAS = {"North Zone", "South Zone", "Cyber Cell", "Traffic"};
+    private static final String[] PREFIXES = {"a", "ab", "b", "ca", "z", "insp", "zone", "cyber", "sub", "x"};
+
+    @Test
+    void matchesAPlainModelThroughInsertsRenamesRemovalsAndMerges() {
+        Random random = new Random(42);
+        AdminUserIndex index = new AdminUserIndex(16);
+        Map<Long, String[]> model = new HashMap<>();
+
+        // Loaded rows, then enough changes to fill and merge the buffer several times
+        for (long id = 1; id <= 3_000; id++) {
+            String[] user = randomUser(random);
+            index.load(id, user[0], user[1], user[2]);
+            model.put(id, user);
+        }
+        index.finishLoad();
+
+        long nextId = 3_001;
+        for (int step = 0; step < 20_000; step++) {
+            int operation = random.nextInt(10);
+            if (operation < 4 || model.isEmpty()) {
+                String[] user = randomUser(random);
+                index.put(nextId, user[0], user[1], user[2]);
+                model.put(nextId++, user);
+            } else {
+                long id = anyId(model, random);
+                String[] user = model.get(id);
+                if (operation < 6) {
+                    index.remove(id);
+                    model.remove(id);
+                } else if (operation < 8) {
+                    String newUsername = randomUsername(random);
+                    index.rename(user[0], newUsername);
+                    user[0] = newUsername;
+                } else {
+                    String[] changed = randomUser(random);
+                    index.updateRankAndArea(user[0], changed[1], changed[2]);
+                    user[1] = changed[1];
+                    user[2] = changed[2];
+                }
+            }
+
+            if (step % 997 == 0) {
+                assertSearchesMatch(index, model);
+            }
+        }
+        assertSearchesMatch(index, model);
+        assertThat(index.size()).isEqualTo(model.size());
+    }
+
+    @Test
+    void usernameMatchesComeFirstAndInOrder() {
+        AdminUserIndex index = new AdminUserIndex(16);
+        index.put(1, "Ravi", "Constable", "North Zone");
+        index.put(2, "insp-kumar", "Constable", "South Zone");
+        index.put(3, "anil", "Inspector", "Traffic");
+        index.put(4, "Inside", "Constable", "Traffic");
+
+        assertThat(index.search("ins", 10)).extracting(UserSearchHit::username)
+                .containsExactly("Inside", "insp-kumar", "anil");
+        assertThat(index.search("ZONE", 10)).extracting(UserSearchHit::id).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(index.search("ins", 2)).hasSize(2);
+    }
+
+    private static void assertSearchesMatch(AdminUserIndex index, Map<Long, String[]> model) {
+        for (String prefix : PREFIXES) {
+            List<UserSearchHit> hits = index.search(prefix, Integer.MAX_VALUE);
+
+            List<String> expectedUsernames = new ArrayList<>();
+            Set<Long> expectedOthers = new HashSet<>();
+            model.forEach((id, user) -> {
+                if (user[0].regionMatches(true, 0, prefix, 0, prefix.length())) {
+                    expectedUsernames.add(user[0]);
+                } else if (hasWord(user[1], prefix) || hasWord(user[2], prefix)) {
+                    expectedOthers.add(id);
+                }
+            });
+            expectedUsernames.sort(String.CASE_INSENSITIVE_ORDER);
+
+            List<UserSearchHit> byUsername = hits.subList(0, Math.min(expectedUsernames.size(), hits.size()));
+            assertThat(byUsername).extracting(UserSearchHit::username).containsExactlyElementsOf(expectedUsernames);
+            assertThat(hits.subList(byUsername.size(), hits.size())).extracting(UserSearchHit::id)
+                    .containsExactlyInAnyOrderElementsOf(expectedOthers);
+            for (UserSearchHit hit : hits) {
+                String[] user = model.get(hit.id());
+                assertThat(new String[]{hit.username(), hit.rank(), hit.areaOfWorking()}).containsExactly(user);
+            }
+        }
+    }
+
+    private static boolean hasWord(String value, String prefix) {
+        for (String word : value.split("[^A-Za-z0-9]+")) {
+            if (word.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String[] randomUser(Random random) {
+        return new String[]{randomUsername(random), RANKS[random.nextInt(RANKS.length)], AREAS[random.nextInt(AREAS.length)]};
+    }
+
+    // Unique (a random suffix); mixed case to exercise the case-insensitive order
+    private static String randomUsername(Random random) {
+        String letters = "abcABCxyz";
+        return "" + letters.charAt(random.nextInt(letters.length())) + letters.charAt(random.nextInt(letters.length()))
+                + "-" + Long.toString(random.nextLong() & Long.MAX_VALUE, 36);
+    }
+
+    private static long anyId(Map<Long, String[]> model, Random random) {
+        int skip = random.nextInt(model.size());
+        for (long id : model.keySet()) {
+            if (skip-- == 0) {
+                return id;
+            }
+        }
+        throw new IllegalStateException();
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.demo.service;
+
+import com.example.demo.config.ExecutorConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PasswordHashingServiceTests {
+
+    private final ExecutorConfig executorConfig = new ExecutorConfig();
+    private final List<ThreadPoolTaskExecutor> executors = new ArrayList<>();
+    private final StubEncoder encoder = new StubEncoder();
+
+    @AfterEach
+    void shutDown() {
+        encoder.gate.countDown();
+        executors.forEach(ThreadPoolTaskExecutor::shutdown);
+    }
+
+    @Test
+    void encodesRunInParallelOnTheHashingPool() throws Exception {
+        // Every encode waits for the other three, so they only finish if all four run at once
+        encoder.together = new CyclicBarrier(4);
+        PasswordHashingService service = service(4, 100);
+
+        List<CompletableFuture<String>> hashes = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            hashes.add(service.encode("password-" + i));
+        }
+        CompletableFuture.allOf(hashes.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+
+        assertThat(hashes).extracting(CompletableFuture::join)
+                .containsExactly("hash:password-0", "hash:password-1", "hash:password-2", "hash:password-3");
+        assertThat(encoder.threads.values()).allMatch(thread -> thread.startsWith("bcrypt-")).hasSize(4);
+        assertThat(Set.copyOf(encoder.threads.values())).hasSize(4);
+        assertThat(service.getStats()).containsEntry("completed", 4L);
+    }
+
+    @Test
+    void fullQueueMakesTheCallerHash() throws Exception {
+        encoder.gated.add("running");
+        PasswordHashingService service = service(1, 1);
+
+        CompletableFuture<String> running = service.encode("running");
+        assertThat(encoder.entered.await(10, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = service.encode("queued");
+        assertThat(service.getStats()).containsEntry("activeThreads", 1).containsEntry("queueDepth", 1);
+
+        // No thread and no queue slot left: hashed right away on this thread instead of rejected
+        CompletableFuture<String> inline = service.encode("inline");
+        assertThat(inline).isCompletedWithValue("hash:inline");
+        assertThat(encoder.threads.get("inline")).isEqualTo(Thread.currentThread().getName());
+        assertThat(queued).isNotDone();
+
+        encoder.gate.countDown();
+        assertThat(queued.get(10, TimeUnit.SECONDS)).isEqualTo("hash:queued");
+        assertThat(running.join()).isEqualTo("hash:running");
+        assertThat(encoder.threads.get("queued")).startsWith("bcrypt-");
+    }
+
+    @Test
+    void loginChecksAreReportedApartFromTheHashingPool() throws Exception {
+        PasswordHashingService service = service(2, 10);
+
+        assertThat(service.encode("bulk").get(10, TimeUnit.SECONDS)).isEqualTo("hash:bulk");
+        assertThat(service.verifyLogin("secret", "hash:secret").get(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(service.verifyLogin("wrong", "hash:secret").get(10, TimeUnit.SECONDS)).isFalse();
+
+        Map<String, Object> stats = service.getStats();
+        assertThat(stats).containsEntry("completed", 1L).containsEntry("loginsCompleted", 2L);
+        assertThat(encoder.threads.get("secret")).startsWith("login-verify-");
+    }
+
+    private PasswordHashingService service(int hashingThreads, int hashingQueue) {
+        return service(executorConfig.passwordHashingExecutor(hashingThreads, hashingQueue),
+                executorConfig.loginVerificationExecutor(1, 10), 2000);
+    }
+
+    private PasswordHashingService service(ThreadPoolTaskExecutor hashing, ThreadPoolTaskExecutor login,
+                                           long loginQueueDeadlineMs) {
+        executors.add(hashing);
+        executors.add(login);
+
+        PortalMetrics metrics = new PortalMetrics();
+        ReflectionTestUtils.setField(metrics, "meterRegistry", new SimpleMeterRegistry());
+        metrics.register();
+
+        PasswordHashingService service = new PasswordHashingService();
+        ReflectionTestUtils.setField(service, "passwordEncoder", encoder);
+        ReflectionTestUtils.setField(service, "executor", hashing);
+        ReflectionTestUtils.setField(service, "loginExecutor", login);
+        ReflectionTestUtils.setField(service, "portalMetrics", metrics);
+        ReflectionTestUtils.setField(service, "loginQueueDeadlineMs", loginQueueDeadlineMs);
+        return service;
+    }
+
+    /** "hash:" + password; records the thread per password and holds gated passwords until the gate opens. */
+    private static class StubEncoder implements PasswordEncoder {
+        final Map<String, String> threads = new ConcurrentHashMap<>();
+        final Set<String> gated = ConcurrentHashMap.newKeySet();
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch gate = new CountDownLatch(1);
+        volatile CyclicBarrier together;
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            hash(rawPassword.toString());
+            return "hash:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            hash(rawPassword.toString());
+            return ("hash:" + rawPassword).equals(encodedPassword);
+        }
+
+        private void hash(String password) {
+            threads.putIfAbsent(password, Thread.currentThread().getName());
+            try {
+                if (gated.contains(password)) {
+                    entered.countDown();
+                    gate.await(10, TimeUnit.SECONDS);
+                }
+                if (together != null) {
+                    together.await(10, TimeUnit.SECONDS);
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.demo.service;
+
+import com.example.demo.UserFixtures;
+import com.example.demo.model.Admin;
+import com.example.demo.repository.AdminRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:user-aggregates;DB_CLOSE_DELAY=-1",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class UserAggregateServiceTests {
+
+    private static final String[] RANKS = {"Constable", "Head Constable", "Inspector"};
+    private static final String[] AREAS = {"North Zone", "South Zone", "Traffic"};
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserAggregateService userAggregateService;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void waitForLoad() throws InterruptedException {
+        for (int i = 0; i < 100 && !userAggregateService.isReady(); i++) {
+            Thread.sleep(100);
+        }
+        assertThat(userAggregateService.isReady()).isTrue();
+    }
+
+    @Test
+    void writesMoveTheCountsAndRollbacksDoNot() {
+        UserFixtures.admin(adminRepository, "counts-admin");
+
+        userService.addUserToAdmin("counts-admin", "kiran", "Secret@123", "Constable", "North Zone");
+        userService.addUsersToAdmin("counts-admin", List.of(
+                Map.of("username", "kavya", "password", "Secret@123", "rank", "Inspector", "areaOfWorking", "Traffic"),
+                Map.of("username", "mohan", "password", "Secret@123", "rank", "Constable", "areaOfWorking", "Traffic")));
+        userService.updateUserRankAndArea("counts-admin", "mohan", "Inspector", "North Zone");
+        userService.editUserOfAdmin("counts-admin", "kiran", "arjun");
+        userService.deleteUserFromAdmin("counts-admin", "kavya");
+        transactionTemplate.executeWithoutResult(status -> {
+            userService.deleteUserFromAdmin("counts-admin", "arjun");
+            status.setRollbackOnly();
+        });
+
+        Map<String, Object> summary = userService.getUserAggregates("counts-admin");
+        assertThat(summary.get("total")).isEqualTo(2L);
+        assertThat(summary.get("byRank")).isEqualTo(Map.of("Constable", 1L, "Inspector", 1L));
+        assertThat(summary.get("byArea")).isEqualTo(Map.of("North Zone", 2L));
+        assertThat(userAggregateService.reconcile()).isZero();
+        assertThat(userService.getUserAggregates("counts-admin")).isEqualTo(summary);
+    }
+
+    @Test
+    void reconcileCorrectsRowsWrittenBehindTheApplicationsBack() {
+        Admin admin = UserFixtures.admin(adminRepository, "drift-admin");
+        userService.addUserToAdmin("drift-admin", "ravi", "Secret@123", "Constable", "Traffic");
+        jdbcTemplate.update("INSERT INTO users (id, admin_id, username, password, rank, area_of_working) "
+                + "VALUES (NEXT VALUE FOR users_seq, ?, 'manual', 'x', 'DSP', 'Traffic')", admin.getId());
+
+        assertThat(userService.getUserAggregates("drift-admin").get("total")).isEqualTo(1L);
+
+        assertThat(userAggregateService.reconcile()).isZero();
+
+        Map<String, Object> summary = userService.getUserAggregates("drift-admin");
+        assertThat(summary.get("total")).isEqualTo(2L);
+        assertThat(summary.get("byRank")).isEqualTo(Map.of("Constable", 1L, "DSP", 1L));
+    }
+
+    @Test
+    void concurrentEditsAndReconcilesEndUpMatchingTheDatabase() throws Exception {
+        Admin admin = UserFixtures.admin(adminRepository, "busy-admin");
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            items.add(Map.of("username", "user-" + i, "password", "Secret@123",
+                    "rank", RANKS[i % RANKS.length], "areaOfWorking", AREAS[i % AREAS.length]));
+        }
+        userService.addUsersToAdmin("busy-admin", items);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        AtomicBoolean editing = new AtomicBoolean(true);
+        try {
+            // Reconciles keep running while the edits land; none of them may introduce drift
+            Future<?> reconciles = pool.submit(() -> {
+                while (editing.get()) {
+                    userAggregateService.reconcile();
+                }
+            });
+            List<Future<?>> edits = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                int n = i;
+                edits.add(pool.submit(() -> {
+                    if (n % 4 == 0) {
+                        userService.deleteUserFromAdmin("busy-admin", "user-" + n);
+                    } else {
+                        userService.updateUserRankAndArea("busy-admin", "user-" + n,
+                                RANKS[(n + 1) % RANKS.length], AREAS[(n + 2) % AREAS.length]);
+                    }
+                }));
+            }
+            for (Future<?> edit : edits) {
+                edit.get();
+            }
+            editing.set(false);
+            reconciles.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        Map<String, Object> summary = userService.getUserAggregates("busy-admin");
+        assertThat(summary.get("total")).isEqualTo(150L);
+        assertThat(summary.get("byRank")).isEqualTo(countInDatabase(admin, "rank"));
+        assertThat(summary.get("byArea")).isEqualTo(countInDatabase(admin, "area_of_working"));
+    }
+
+    @Test
+    void scheduledReconcileRetriesAFailedInitialLoad() {
+        Admin admin = UserFixtures.admin(adminRepository, "late-admin");
+        userService.addUserToAdmin("late-admin", "sunil", "Secret@123", "Constable", "Traffic");
+
+        AtomicBoolean databaseUp = new AtomicBoolean();
+        DataSource flaky = new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (!databaseUp.get()) {
+                    throw new SQLException("Database unavailable");
+                }
+                return super.getConnection();
+            }
+        };
+        UserAggregateService fresh = beanFactory.createBean(UserAggregateService.class);
+        ReflectionTestUtils.setField(fresh, "jdbcTemplate", new JdbcTemplate(flaky));
+
+        fresh.load();
+        assertThat(fresh.isReady()).isFalse();
+
+        databaseUp.set(true);
+        fresh.reconcileRegularly();
+
+        assertThat(fresh.isReady()).isTrue();
+        assertThat(fresh.summary(admin.getId()).get("byRank")).isEqualTo(Map.of("Constable", 1L));
+    }
+
+    private Map<String, Long> countInDatabase(Admin admin, String column) {
+        Map<String, Long> counts = new HashMap<>();
+        jdbcTemplate.query("SELECT " + column + ", COUNT(*) FROM users WHERE admin_id = ? GROUP BY " + column,
+                rs -> {
+                    counts.put(rs.getString(1), rs.getLong(2));
+                }, admin.getId());
+        return counts;
+    }
+}
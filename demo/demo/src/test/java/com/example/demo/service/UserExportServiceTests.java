@@ -0,0 +1,79 @@
+package com.example.demo.service;
+
+import com.example.demo.UserFixtures;
+import com.example.demo.model.Admin;
+import com.example.demo.repository.AdminRepository;
+import com.example.demo.repository.UserRepository;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:user-export;DB_CLOSE_DELAY=-1",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO",
+        // Smaller than the user count, so the XLSX export has to flush rows to disk
+        "app.export.xlsx-row-window=10"
+})
+class UserExportServiceTests {
+
+    private static final String ADMIN_ID = "export-admin";
+    private static final int USERS = 250;
+
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    private Admin admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = UserFixtures.adminWithUsers(adminRepository, userRepository, ADMIN_ID, USERS, i -> "export-user-" + i,
+                user -> user.setAreaOfWorking("North, \"Zone\" 1"));
+    }
+
+    @Test
+    void csvHasHeaderAndOneEscapedLinePerUser() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userExportService.export(admin, UserExportService.Format.CSV, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\r\n");
+        assertThat(lines).hasSize(USERS + 1);
+        assertThat(lines[0]).isEqualTo("Username,Rank,Area of Working,Created At,Updated At");
+        assertThat(lines[1]).startsWith("export-user-0,Constable,\"North, \"\"Zone\"\" 1\",");
+        assertThat(out.toString(StandardCharsets.UTF_8)).doesNotContain("not-a-real-hash");
+    }
+
+    @Test
+    void xlsxContainsEveryUserPastTheRowWindow() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        userExportService.export(admin, UserExportService.Format.XLSX, out);
+
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertThat(sheet.getLastRowNum()).isEqualTo(USERS);
+            assertThat(sheet.getRow(0).getCell(0).getStringCellValue()).isEqualTo("Username");
+            assertThat(sheet.getRow(USERS).getCell(0).getStringCellValue()).isEqualTo("export-user-" + (USERS - 1));
+        }
+    }
+
+    @Test
+    void csvNeutralisesFormulaPrefixes() {
+        assertThat(UserExportService.escapeCsv("=1+1")).isEqualTo("'=1+1");
+        assertThat(UserExportService.escapeCsv("plain")).isEqualTo("plain");
+    }
+}
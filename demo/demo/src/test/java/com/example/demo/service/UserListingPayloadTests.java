@@ -0,0 +1,94 @@
+package com.example.demo.service;
+
+import com.example.demo.UserFixtures;
+import com.example.demo.model.User;
+import com.example.demo.repository.AdminRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.repository.UserSummary;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import tools.jackson.databind.ObjectMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures what one page of the user listing costs: JSON bytes per row and JDBC statements per page.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:user-listing;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class UserListingPayloadTests {
+
+    private static final String ADMIN_ID = "listing-admin";
+    private static final int USERS = 50;
+    private static final int PAGE_SIZE = 20;
+    private static final String HASH = "$2a$10$abcdefghijklmnopqrstuuN0tAReALbCrYpThAsHvAlUe1234567";
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        UserFixtures.adminWithUsers(adminRepository, userRepository, ADMIN_ID, USERS, i -> "listed-user-" + i, HASH);
+    }
+
+    @Test
+    void offsetPageIsOneSelectPlusCountAndCarriesNoEntityGraph() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        adminRepository.findByAdminId(ADMIN_ID);
+        statistics.clear();
+
+        Page<UserSummary> page = userService.getUsersByAdminPaginated(ADMIN_ID, 1, PAGE_SIZE);
+        String json = objectMapper.writeValueAsString(page.getContent());
+
+        assertThat(page.getContent()).hasSize(PAGE_SIZE);
+        assertThat(page.getTotalElements()).isEqualTo(USERS);
+        // Page select + count, no entity loads, no lazy admin or collection fetches while serializing
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getCollectionLoadCount()).isZero();
+
+        assertThat(json).doesNotContain("password").doesNotContain("$2a$").doesNotContain("adminId");
+
+        // Baseline: the same row as a bare entity, before even following its admin association
+        User entity = new User(1L, "listed-user-1", HASH, "Constable", "North", null,
+                page.getContent().get(0).createdAt(), page.getContent().get(0).updatedAt());
+        int entityBytes = objectMapper.writeValueAsString(entity).length();
+        int summaryBytes = json.length() / PAGE_SIZE;
+
+        assertThat(summaryBytes).isLessThan(entityBytes - HASH.length());
+    }
+
+    @Test
+    void keysetPageIsASingleSelect() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        adminRepository.findByAdminId(ADMIN_ID);
+        statistics.clear();
+
+        userService.getUsersByAdminAfter(ADMIN_ID, "", UserCursor.Sort.USERNAME, PAGE_SIZE, false);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+}
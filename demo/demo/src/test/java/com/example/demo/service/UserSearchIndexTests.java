@@ -0,0 +1,161 @@
+package com.example.demo.service;
+
+import com.example.demo.UserFixtures;
+import com.example.demo.model.Admin;
+import com.example.demo.repository.AdminRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.AutowireCapableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:user-search;DB_CLOSE_DELAY=-1",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class UserSearchIndexTests {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AutowireCapableBeanFactory beanFactory;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @BeforeEach
+    void waitForLoad() throws InterruptedException {
+        for (int i = 0; i < 100 && !userSearchIndex.isReady(); i++) {
+            Thread.sleep(100);
+        }
+        assertThat(userSearchIndex.isReady()).isTrue();
+    }
+
+    @Test
+    void entityWritesAndSingleStatementEditsReachTheIndex() {
+        Admin admin = UserFixtures.admin(adminRepository, "search-admin");
+
+        userService.addUserToAdmin("search-admin", "kiran", "Secret@123", "Constable", "North Zone");
+        userService.addUsersToAdmin("search-admin", List.of(
+                Map.of("username", "kavya", "password", "Secret@123", "rank", "Inspector", "areaOfWorking", "Cyber Cell"),
+                Map.of("username", "mohan", "password", "Secret@123", "rank", "Sub Inspector", "areaOfWorking", "North Zone")));
+
+        assertThat(usernames("search-admin", "k")).containsExactly("kavya", "kiran");
+        assertThat(usernames("search-admin", "insp")).containsExactlyInAnyOrder("kavya", "mohan");
+
+        userService.editUserOfAdmin("search-admin", "kiran", "arjun");
+        userService.updateUserRankAndArea("search-admin", "mohan", "Constable", "Traffic");
+        userService.deleteUserFromAdmin("search-admin", "kavya");
+
+        assertThat(usernames("search-admin", "k")).isEmpty();
+        assertThat(usernames("search-admin", "ARJ")).containsExactly("arjun");
+        assertThat(usernames("search-admin", "traffic")).containsExactly("mohan");
+        assertThat(usernames("search-admin", "north")).containsExactly("arjun");
+
+        Map<String, Object> page = userService.searchUsers("search-admin", "constable", 1);
+        assertThat((List<?>) page.get("content")).hasSize(1);
+        assertThat(page.get("hasMore")).isEqualTo(true);
+        assertThat(userSearchIndex.search(admin.getId(), "a", 10)).extracting(UserSearchHit::rank).containsExactly("Constable");
+    }
+
+    @Test
+    void loadReadsExistingRowsAndReplaysChangesMadeMeanwhile() {
+        Admin admin = UserFixtures.admin(adminRepository, "load-admin");
+        // Written behind the entity listener's back, as rows from before the application started
+        for (int i = 0; i < 5; i++) {
+            jdbcTemplate.update("INSERT INTO users (id, admin_id, username, password, rank, area_of_working) "
+                    + "VALUES (NEXT VALUE FOR users_seq, ?, ?, 'x', 'Constable', 'North Zone')", admin.getId(), "old-" + i);
+        }
+        long removedId = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = 'old-0'", Long.class);
+
+        UserSearchIndex fresh = beanFactory.createBean(UserSearchIndex.class);
+        // Arrive before the load finishes: queued, then applied on top of the loaded rows
+        fresh.userRemoved(admin.getId(), removedId);
+        fresh.usernameChanged(admin.getId(), "old-1", "renamed-1");
+        assertThat(fresh.isReady()).isFalse();
+
+        fresh.load();
+
+        assertThat(fresh.isReady()).isTrue();
+        assertThat(fresh.search(admin.getId(), "old-", 10)).extracting(UserSearchHit::username)
+                .containsExactly("old-2", "old-3", "old-4");
+        assertThat(fresh.search(admin.getId(), "renamed", 10)).extracting(UserSearchHit::username)
+                .containsExactly("renamed-1");
+    }
+
+    @Test
+    void failedLoadDropsItsQueueAndIsRetriedUntilTheDatabaseIsBack() throws InterruptedException {
+        Admin admin = UserFixtures.admin(adminRepository, "retry-admin");
+        jdbcTemplate.update("INSERT INTO users (id, admin_id, username, password, rank, area_of_working) "
+                + "VALUES (NEXT VALUE FOR users_seq, ?, 'stored', 'x', 'Constable', 'North Zone')", admin.getId());
+
+        AtomicBoolean databaseUp = new AtomicBoolean();
+        DataSource flaky = new DelegatingDataSource(dataSource) {
+            @Override
+            public Connection getConnection() throws SQLException {
+                if (!databaseUp.get()) {
+                    throw new SQLException("Database unavailable");
+                }
+                return super.getConnection();
+            }
+        };
+        UserSearchIndex fresh = beanFactory.createBean(UserSearchIndex.class);
+        ReflectionTestUtils.setField(fresh, "jdbcTemplate", new JdbcTemplate(flaky));
+        ReflectionTestUtils.setField(fresh, "retryDelay", Duration.ofMillis(10));
+        ReflectionTestUtils.setField(fresh, "maxRetryDelay", Duration.ofMillis(40));
+
+        fresh.usernameChanged(admin.getId(), "stored", "renamed");
+        assertThat(fresh.queuedChanges()).isEqualTo(1);
+
+        assertThat(fresh.load()).isFalse();
+        assertThat(fresh.isReady()).isFalse();
+        assertThat(fresh.queuedChanges()).isZero();
+        // Committed while no attempt runs: the next attempt reads them, so nothing piles up
+        for (int i = 0; i < 1000; i++) {
+            fresh.userRemoved(admin.getId(), "user-" + i);
+        }
+        assertThat(fresh.queuedChanges()).isZero();
+
+        Thread loader = new Thread(fresh::loadUntilReady);
+        loader.start();
+        Thread.sleep(200);
+        assertThat(fresh.isReady()).isFalse();
+
+        databaseUp.set(true);
+        loader.join(5000);
+
+        assertThat(fresh.isReady()).isTrue();
+        assertThat(fresh.search(admin.getId(), "stored", 10)).extracting(UserSearchHit::username)
+                .containsExactly("stored");
+    }
+
+    private List<String> usernames(String adminId, String query) {
+        @SuppressWarnings("unchecked")
+        List<UserSearchHit> hits = (List<UserSearchHit>) userService.searchUsers(adminId, query, 50).get("content");
+        return hits.stream().map(UserSearchHit::username).toList();
+    }
+}
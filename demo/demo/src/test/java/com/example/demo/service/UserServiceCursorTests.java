@@ -0,0 +1,97 @@
+package com.example.demo.service;
+
+import com.example.demo.UserFixtures;
+import com.example.demo.repository.AdminRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.repository.UserSummary;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:user-cursor;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class UserServiceCursorTests {
+
+    private static final String ADMIN_ID = "cursor-admin";
+    private static final int USERS = 25;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        // Saved in reverse name order so the two sort orders differ
+        UserFixtures.adminWithUsers(adminRepository, userRepository, ADMIN_ID, USERS,
+                i -> String.format("user-%02d", USERS - i));
+    }
+
+    @Test
+    void walksEveryUserOnceInIdOrderWithoutCounting() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        adminRepository.findByAdminId(ADMIN_ID);
+        statistics.clear();
+
+        List<Long> ids = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        while (cursor != null) {
+            Map<String, Object> page = userService.getUsersByAdminAfter(ADMIN_ID, cursor, UserCursor.Sort.ID, 10, false);
+            assertThat(page).doesNotContainKey("totalElements");
+            content(page).forEach(user -> ids.add(user.id()));
+            cursor = (String) page.get("nextCursor");
+            pages++;
+        }
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(ids).hasSize(USERS).isSorted().doesNotHaveDuplicates();
+        // One select per page, no count(*)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(pages);
+    }
+
+    @Test
+    void usernameOrderFollowsTheCursorAndCanIncludeTotal() {
+        Map<String, Object> first = userService.getUsersByAdminAfter(ADMIN_ID, null, UserCursor.Sort.USERNAME, 10, true);
+        assertThat(first).containsEntry("totalElements", (long) USERS).containsEntry("hasNext", true);
+        assertThat(content(first).get(0).username()).isEqualTo("user-01");
+
+        // The cursor carries its sort order, so the next page keeps username order
+        Map<String, Object> second = userService.getUsersByAdminAfter(
+                ADMIN_ID, (String) first.get("nextCursor"), UserCursor.Sort.ID, 10, false);
+        assertThat(content(second)).extracting(UserSummary::username).startsWith("user-11").isSorted();
+    }
+
+    @Test
+    void rejectsTamperedCursors() {
+        assertThatThrownBy(() -> userService.getUsersByAdminAfter(ADMIN_ID, "not a cursor", UserCursor.Sort.ID, 10, false))
+                .hasMessage("Invalid cursor");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<UserSummary> content(Map<String, Object> page) {
+        return (List<UserSummary>) page.get("content");
+    }
+}
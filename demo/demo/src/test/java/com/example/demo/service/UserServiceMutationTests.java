@@ -0,0 +1,134 @@
+package com.example.demo.service;
+
+import com.example.demo.UserFixtures;
+import com.example.demo.model.Admin;
+import com.example.demo.model.User;
+import com.example.demo.repository.AdminRepository;
+import com.example.demo.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Compares JDBC statements and entity loads per edit for the single-statement user mutations against
+ * the previous load-then-save approach, with edits running concurrently against the same admin.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:user-mutations;DB_CLOSE_DELAY=-1",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.SQL=INFO",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=INFO"
+})
+class UserServiceMutationTests {
+
+    private static final String ADMIN_ID = "mutations-admin";
+    private static final int USERS = 200;
+    private static final int THREADS = 8;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AdminRepository adminRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        UserFixtures.adminWithUsers(adminRepository, userRepository, ADMIN_ID, USERS, i -> "user-" + i);
+    }
+
+    @Test
+    void concurrentEditsIssueOneUpdateEachWithoutLoadingEntities() throws Exception {
+        // Warm the admin caches so both runs start from the same state
+        adminRepository.findByAdminId(ADMIN_ID);
+
+        Run legacy = run(i -> transactionTemplate.executeWithoutResult(status -> {
+            Admin admin = adminRepository.findByAdminId(ADMIN_ID).orElseThrow();
+            User user = userRepository.findByAdminAndUsername(admin, "user-" + i).orElseThrow();
+            user.setRank("Sergeant");
+            user.setAreaOfWorking("South");
+            userRepository.save(user);
+        }));
+
+        Run singleStatement = run(i ->
+                userService.updateUserRankAndArea(ADMIN_ID, "user-" + i, "Inspector", "East"));
+
+        assertThat(singleStatement.statements).isEqualTo(USERS);
+        assertThat(singleStatement.entityLoads).isZero();
+        assertThat(legacy.statements).isGreaterThanOrEqualTo(2L * USERS);
+        assertThat(legacy.entityLoads).isGreaterThanOrEqualTo(USERS);
+        assertThat(userRepository.findByAdminAndUsername(
+                adminRepository.findByAdminId(ADMIN_ID).orElseThrow(), "user-7").orElseThrow().getRank())
+                .isEqualTo("Inspector");
+    }
+
+    @Test
+    void missingUserAndMissingAdminAreStillReported() {
+        assertThatThrownBy(() -> userService.updateUserRankAndArea(ADMIN_ID, "nobody", "Inspector", "East"))
+                .hasMessage("User not found");
+        assertThatThrownBy(() -> userService.deleteUserFromAdmin("no-such-admin", "user-1"))
+                .hasMessage("Admin not found");
+        assertThatThrownBy(() -> userService.editUserOfAdmin(ADMIN_ID, "nobody", "somebody"))
+                .hasMessage("User not found");
+    }
+
+    @Test
+    void renameAndDeleteAffectOnlyTheTargetUser() {
+        userService.editUserOfAdmin(ADMIN_ID, "user-150", "renamed-150");
+        userService.deleteUserFromAdmin(ADMIN_ID, "renamed-150");
+
+        Admin admin = adminRepository.findByAdminId(ADMIN_ID).orElseThrow();
+        assertThat(userRepository.findByAdminAndUsername(admin, "user-150")).isEmpty();
+        assertThat(userRepository.findByAdminAndUsername(admin, "renamed-150")).isEmpty();
+        assertThat(userRepository.findByAdminAndUsername(admin, "user-151")).isPresent();
+    }
+
+    private Run run(IntConsumer edit) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            statistics.clear();
+
+            List<Future<?>> futures = new ArrayList<>(USERS);
+            for (int i = 0; i < USERS; i++) {
+                int index = i;
+                futures.add(pool.submit(() -> edit.accept(index)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+
+            return new Run(statistics.getPrepareStatementCount(), statistics.getEntityLoadCount());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private record Run(long statements, long entityLoads) {
+    }
+}
@@ -1,6 +1,6 @@
 const { app, BrowserWindow, Tray, Menu, ipcMain } = require('electron');
 const path = require('path');
-const { spawn } = require('child_process');
+const { spawn, spawnSync } = require('child_process');
 const http = require('http');
 const fs = require('fs');
 
@@ -9,7 +9,8 @@ let tray;
 let backendProcess;
 const BACKEND_PORT = 8081;
 const BACKEND_URL = `http://localhost:${BACKEND_PORT}`;
-const MAX_HEALTH_CHECK_ATTEMPTS = 60; // 60 seconds max wait
+const HEALTH_CHECK_INTERVAL_MS = 250;
+const MAX_HEALTH_CHECK_ATTEMPTS = 240; // 60 seconds max wait
 
 // Get the correct paths for development and production
 const isDev = !app.isPackaged;
@@ -17,6 +18,10 @@ const appPath = app.getAppPath();
 const backendJarPath = isDev
   ? path.join(appPath, '..', '..', 'demo', 'demo', 'target', 'service.jar')
   : path.join(process.resourcesPath, 'backend', 'service.jar');
+// Output of the fast-start build (mvn -Pfast-start package, see FAST_START.md), used when present
+const fastStartDir = isDev
+  ? path.join(appPath, '..', '..', 'demo', 'demo', 'target', 'fast-start')
+  : path.join(process.resourcesPath, 'backend', 'fast-start');
 
 const frontendPath = isDev
   ? path.join(appPath, 'dist', 'index.html')
@@ -29,25 +34,55 @@ if (!fs.existsSync(logsDir)) {
 }
 
 // Backend management functions
+
+// Feature version of the `java` on the PATH (8 for 1.8.x), or 0 when it cannot be run
+function javaMajorVersion() {
+  const result = spawnSync('java', ['-version'], { encoding: 'utf8' });
+  const match = /version "(\d+)(?:\.(\d+))?/.exec(`${result.stderr || ''}${result.stdout || ''}`);
+  if (!match) {
+    return 0;
+  }
+  const major = Number(match[1]);
+  return major === 1 && match[2] ? Number(match[2]) : major;
+}
+
+function backendCommand() {
+  const fastStartJar = path.join(fastStartDir, 'service.jar');
+  if (!fs.existsSync(fastStartJar)) {
+    return { jar: backendJarPath, args: ['-jar', backendJarPath, '--spring.profiles.active=production'] };
+  }
+
+  // A -XX:SharedArchiveFile archive from a different JDK is ignored with a warning. -XX:AOTCache is
+  // different: before JDK 25 it is an unrecognized option and the JVM exits at once, so it is only
+  // passed when the java on the PATH is 25 or newer; older ones start without an archive.
+  const args = ['-Dspring.aot.enabled=true'];
+  const aotCache = path.join(fastStartDir, 'service.aot');
+  const sharedArchive = path.join(fastStartDir, 'service.jsa');
+  if (fs.existsSync(aotCache) && javaMajorVersion() >= 25) {
+    args.push(`-XX:AOTCache=${aotCache}`);
+  } else if (fs.existsSync(sharedArchive)) {
+    args.push(`-XX:SharedArchiveFile=${sharedArchive}`);
+  }
+  args.push('-jar', fastStartJar, '--spring.profiles.active=production,fast-start');
+  return { jar: fastStartJar, args };
+}
+
 function startBackend() {
   return new Promise((resolve, reject) => {
     console.log('Starting backend server...');
-    console.log('Backend JAR path:', backendJarPath);
+    const { jar, args } = backendCommand();
+    console.log('Backend JAR path:', jar);
 
-    if (!fs.existsSync(backendJarPath)) {
-      console.error('Backend JAR not found at:', backendJarPath);
-      reject(new Error(`Backend JAR not found at: ${backendJarPath}`));
+    if (!fs.existsSync(jar)) {
+      console.error('Backend JAR not found at:', jar);
+      reject(new Error(`Backend JAR not found at: ${jar}`));
       return;
     }
 
     const logFile = path.join(logsDir, `backend-${Date.now()}.log`);
     const logStream = fs.createWriteStream(logFile, { flags: 'a' });
 
-    backendProcess = spawn('java', [
-      '-jar',
-      backendJarPath,
-      '--spring.profiles.active=production'
-    ], {
+    backendProcess = spawn('java', args, {
       cwd: app.getPath('userData'),
       detached: false
     });
@@ -103,21 +138,21 @@ function checkBackendHealth(attempt = 0) {
       } else {
         setTimeout(() => {
           checkBackendHealth(attempt + 1).then(resolve).catch(reject);
-        }, 1000);
+        }, HEALTH_CHECK_INTERVAL_MS);
       }
     });
 
     req.on('error', () => {
       setTimeout(() => {
         checkBackendHealth(attempt + 1).then(resolve).catch(reject);
-      }, 1000);
+      }, HEALTH_CHECK_INTERVAL_MS);
     });
 
     req.on('timeout', () => {
       req.destroy();
       setTimeout(() => {
         checkBackendHealth(attempt + 1).then(resolve).catch(reject);
-      }, 1000);
+      }, HEALTH_CHECK_INTERVAL_MS);
     });
 
     req.end();
@@ -39,6 +39,7 @@ function Dashboard() {
       formData.append("file", file);
       const response = await fetch("http://localhost:8081/api/auth/upload-admins", {
         method: "POST",
+        headers: { Authorization: `Bearer ${localStorage.getItem("token")}` },
         body: formData,
       });
       const data = await response.json();
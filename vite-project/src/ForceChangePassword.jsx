@@ -105,6 +105,7 @@ function ForceChangePassword() {
                 method: "POST",
                 headers: {
                     "Content-Type": "application/json",
+                    "Authorization": `Bearer ${token}`,
                 },
                 body: JSON.stringify({
                     adminId: adminId,
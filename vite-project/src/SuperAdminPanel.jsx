@@ -50,6 +50,7 @@ function SuperAdminPanel() {
 
             const response = await fetch("http://localhost:8081/api/auth/upload-admins", {
                 method: "POST",
+                headers: { Authorization: `Bearer ${localStorage.getItem("token")}` },
                 body: formData,
             });
 
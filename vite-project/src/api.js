@@ -5,12 +5,12 @@ export const apiCall = async (endpoint, options = {}) => {
   const token = localStorage.getItem("token");
 
   const response = await fetch(`${API_BASE_URL}${endpoint}`, {
+    ...options,
     headers: {
       "Content-Type": "application/json",
-      ...(token && { Authorization: `Bearer ${token}` }),
       ...options.headers,
+      ...(token && { Authorization: `Bearer ${token}` }),
     },
-    ...options,
   });
 
   if (!response.ok) {